@@ -0,0 +1,62 @@
+package com.example.DEVs.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.SplittableRandom;
+
+/**
+ * 채팅 중복 판정
+ * 초당 채팅 수만큼 메시지를 시간순으로 흘려 보내며, 일부는 같은 작성자+내용 재전송으로 섞는다.
+ */
+@State(Scope.Thread)
+public class ChatDedupeBenchmark {
+
+    private static final int MESSAGES = 10_000;
+
+    // 중복 비율 (%)
+    @Param({"0", "20"})
+    private int duplicatePercent;
+
+    private final String[] ids = new String[MESSAGES];
+    private final String[] authors = new String[MESSAGES];
+    private final String[] texts = new String[MESSAGES];
+    private final long[] publishedAt = new long[MESSAGES];
+
+    private ChatDedupeWindow window;
+
+    @Setup(Level.Trial)
+    public void createMessages() {
+        SplittableRandom random = new SplittableRandom(42);
+        for (int i = 0; i < MESSAGES; i++) {
+            // 초당 약 50개
+            publishedAt[i] = i * 20L;
+            ids[i] = "msg-" + i;
+            if (i > 0 && random.nextInt(100) < duplicatePercent) {
+                int prev = random.nextInt(Math.max(0, i - 100), i);
+                authors[i] = authors[prev];
+                texts[i] = texts[prev];
+            } else {
+                authors[i] = "viewer" + random.nextInt(2_000);
+                texts[i] = "chat message " + random.nextInt(100_000);
+            }
+        }
+    }
+
+    @Setup(Level.Invocation)
+    public void resetWindow() {
+        window = new ChatDedupeWindow();
+    }
+
+    @Benchmark
+    public void checkAndRecord(Blackhole bh) {
+        for (int i = 0; i < MESSAGES; i++) {
+            bh.consume(window.checkAndRecord(ids[i], authors[i], texts[i], publishedAt[i]));
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.DEVs.service;
+
+import com.example.DEVs.entity.Sentiment;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * extractHighlight 의 점수 계산 + 상위 K 선택 (DB 조회 제외)
+ * 1분 버킷 감정 스트림을 1k ~ 1M 개 만들어 한 번 훑는 비용을 잰다.
+ */
+@State(Scope.Benchmark)
+public class HighlightSelectionBenchmark {
+
+    private static final long BUCKET_MS = 60_000L;
+
+    @Param({"1000", "100000", "1000000"})
+    private int buckets;
+
+    private List<Sentiment> stream;
+    private HighlightScorer scorer;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        stream = new ArrayList<>(buckets);
+        for (int i = 0; i < buckets; i++) {
+            double positive = random.nextDouble(0, 100);
+            double negative = random.nextDouble(0, 100 - positive);
+
+            Sentiment s = new Sentiment();
+            s.setVideoId("bench");
+            s.setTimelineMs((i + 1) * BUCKET_MS);
+            s.setTotalMessages(random.nextInt(0, 500));
+            s.setPositive(positive);
+            s.setNegative(negative);
+            s.setNeutral(100 - positive - negative);
+            stream.add(s);
+        }
+        scorer = new WeightedHighlightScorer();
+    }
+
+    @Benchmark
+    public List<HighlightSelector.Candidate> selectTopK() {
+        return HighlightService.selectCandidates(stream, scorer, new HighlightSelector(5, 0, 180_000L));
+    }
+}
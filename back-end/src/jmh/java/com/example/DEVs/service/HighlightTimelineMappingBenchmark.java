@@ -0,0 +1,50 @@
+package com.example.DEVs.service;
+
+import com.example.DEVs.dto.HighlightDataDto;
+import com.example.DEVs.entity.Highlight;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * loadHighlightTimeline 의 엔티티 → DTO 변환 (캐시 미스 시 비용)
+ */
+@State(Scope.Benchmark)
+public class HighlightTimelineMappingBenchmark {
+
+    @Param({"5", "100", "1000"})
+    private int highlights;
+
+    private List<Highlight> rows;
+
+    @Setup
+    public void setUp() {
+        rows = new ArrayList<>(highlights);
+        for (int i = 0; i < highlights; i++) {
+            Highlight h = new Highlight();
+            h.setId((long) i);
+            h.setVideoId("bench");
+            h.setStartMs(i * 180_000L);
+            h.setEndMs(i * 180_000L + 120_000L);
+            h.setPositive(62.5);
+            h.setIncreaseRate(1.8);
+            h.setTotalMessages(340);
+            h.setHighlightScore(33.1);
+            h.setSummary("스트리머가 보스를 처음으로 잡고 채팅이 폭발한 장면");
+            h.setVideoUrl("/videos/highlights/bench/bench_" + i + ".mp4");
+            rows.add(h);
+        }
+    }
+
+    @Benchmark
+    public List<HighlightDataDto> toDtos() {
+        return rows.stream()
+                .map(HighlightService::toDto)
+                .toList();
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.DEVs.service;
+
+import com.example.DEVs.entity.Chat;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * liveChat/messages 응답 한 페이지를 Chat 목록으로 바꾸는 비용 (JSON 파싱 + 중복 판정)
+ * 한 페이지 최대 크기는 YouTube 기본값인 2000 개까지 잰다.
+ * streaming: 현재 수집 경로 (토큰 파서 → 재사용 레코드 → 링 버퍼 소비자와 같은 판정)
+ * tree: 이전 경로 (JsonNode 트리 + Instant.parse), 비교용
+ */
+@State(Scope.Thread)
+public class LiveChatParseBenchmark {
+
+    private static final Instant LIVE_START = Instant.parse("2025-01-01T00:00:00Z");
+
+    @Param({"200", "2000"})
+    private int messagesPerPage;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final JsonFactory jsonFactory = objectMapper.getFactory();
+    private String page;
+
+    @Setup
+    public void setUp() {
+        StringBuilder sb = new StringBuilder("{\"kind\":\"youtube#liveChatMessageListResponse\",")
+                .append("\"nextPageToken\":\"GO_bench\",\"pollingIntervalMillis\":5000,\"items\":[");
+        for (int i = 0; i < messagesPerPage; i++) {
+            if (i > 0) sb.append(',');
+            Instant publishedAt = LIVE_START.plusMillis(i * 250L);
+            sb.append("{\"kind\":\"youtube#liveChatMessage\",\"id\":\"msg-").append(i).append("\",")
+                    .append("\"snippet\":{\"type\":\"textMessageEvent\",\"publishedAt\":\"").append(publishedAt).append("\",")
+                    .append("\"hasDisplayContent\":true,\"displayMessage\":\"ㅋㅋㅋ 방금 장면 미쳤다 ").append(i % 97).append("\"},")
+                    .append("\"authorDetails\":{\"channelId\":\"UC").append(i % 500).append("\",")
+                    .append("\"displayName\":\"viewer").append(i % 500).append("\",\"isChatModerator\":false}}");
+        }
+        page = sb.append("]}").toString();
+    }
+
+    @Benchmark
+    public List<Chat> streaming() throws Exception {
+        // 세션(중복 윈도우)은 페이지마다 새로 만들어 매 호출이 같은 일을 하게 한다
+        LiveChatSession session = new LiveChatSession("bench", "chat-bench", LIVE_START);
+        ChatDedupeWindow window = session.getDedupeWindow();
+        List<Chat> chats = new ArrayList<>();
+        LiveChatMessageParser.parse(jsonFactory, page, session, record -> {
+            if (window.checkAndRecord(record.getIdKey(), record.getContentKey(), record.getPublishedAtMs())) return;
+            Chat chat = new Chat();
+            chat.setVideoId(session.getVideoId());
+            chat.setAuthor(record.getAuthor().toString());
+            chat.setText(record.getText().toString());
+            chat.setPublishedAtMs(record.getPublishedAtMs());
+            chats.add(chat);
+        });
+        return chats;
+    }
+
+    @Benchmark
+    public List<Chat> tree() throws Exception {
+        LiveChatSession session = new LiveChatSession("bench", "chat-bench", LIVE_START);
+        ChatDedupeWindow window = session.getDedupeWindow();
+        long liveStartMillis = LIVE_START.toEpochMilli();
+        List<Chat> chats = new ArrayList<>();
+        for (JsonNode item : objectMapper.readTree(page).path("items")) {
+            String messageId = item.path("id").asText(null);
+            long publishTime = Instant.parse(item.path("snippet").path("publishedAt").asText()).toEpochMilli()
+                    - liveStartMillis;
+            String author = item.path("authorDetails").path("displayName").asText();
+            String message = item.path("snippet").path("displayMessage").asText();
+            if (window.checkAndRecord(messageId, author, message, publishTime)) continue;
+
+            Chat chat = new Chat();
+            chat.setVideoId(session.getVideoId());
+            chat.setAuthor(author);
+            chat.setText(message);
+            chat.setPublishedAtMs(publishTime);
+            chats.add(chat);
+        }
+        return chats;
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.DEVs.util;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.SplittableRandom;
+
+/**
+ * 타임라인 문자열 변환
+ * 이전 구현(String.format)과 같은 입력으로 비교한다.
+ */
+@State(Scope.Thread)
+public class TimelineFormatBenchmark {
+
+    private static final int SIZE = 1024;
+
+    private final long[] offsets = new long[SIZE];
+    private final String[] formatted = new String[SIZE];
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        for (int i = 0; i < SIZE; i++) {
+            offsets[i] = random.nextLong(0, 12 * 60 * 60_000L);
+            formatted[i] = TimelineFormat.format(offsets[i]);
+        }
+    }
+
+    @Benchmark
+    public void format(Blackhole bh) {
+        for (long ms : offsets) {
+            bh.consume(TimelineFormat.format(ms));
+        }
+    }
+
+    @Benchmark
+    public void formatWithStringFormat(Blackhole bh) {
+        for (long ms : offsets) {
+            long totalSeconds = ms / 1000;
+            bh.consume(String.format("%02d:%02d:%02d",
+                    totalSeconds / 3600, (totalSeconds % 3600) / 60, totalSeconds % 60));
+        }
+    }
+
+    @Benchmark
+    public void parse(Blackhole bh) {
+        for (String hhmmss : formatted) {
+            bh.consume(TimelineFormat.parse(hhmmss));
+        }
+    }
+}
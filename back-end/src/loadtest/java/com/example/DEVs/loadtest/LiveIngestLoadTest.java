@@ -0,0 +1,186 @@
+package com.example.DEVs.loadtest;
+
+import com.example.DEVs.DeVsApplication;
+import com.example.DEVs.entity.Chat;
+import com.example.DEVs.repository.ChatRepository;
+import com.example.DEVs.service.ChatIngestPipeline;
+import com.example.DEVs.service.SentimentBroadcaster;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.IntStream;
+
+/**
+ * 라이브 채팅 수집 → 중복 제거 → 저장 → 감정 구간 분석까지 오프라인 부하 테스트
+ *
+ * 스텁 YouTube 서버와 스텁 분석기, H2 로 백엔드를 띄우고 N 개 방송을 동시에 수집한 뒤
+ * 수집 처리량, 중복 판정 정확도, 감정 구간 지연, DB 쓰기 속도를 출력한다.
+ *
+ * 설정 (시스템 프로퍼티, gradle 에서는 -Ploadtest.xxx=...)
+ *   loadtest.streams             동시 방송 수 (20)
+ *   loadtest.rate                방송당 초당 채팅 수 (20)
+ *   loadtest.duplicate-percent   작성자+내용 재전송 비율 (5)
+ *   loadtest.replay-percent      ID 가 겹치는 페이지 비율 (10)
+ *   loadtest.poll-interval-ms    스텁이 주는 pollingIntervalMillis (2000)
+ *   loadtest.duration-seconds    채팅 생성 시간 (120)
+ *   loadtest.drain-seconds       생성 중단 후 남은 채팅을 받아 가는 시간 (30)
+ *   loadtest.bucket-seconds      감정 분석 구간 (10)
+ *   loadtest.analyzer-latency-ms 스텁 분석기 지연 (200)
+ *   loadtest.batch-max-size      감정 분석 묶음 최대 구간 수 (16)
+ *   loadtest.batch-max-wait-ms   감정 분석 묶음 최대 대기 (2000, 0 이면 묶지 않음)
+ */
+public class LiveIngestLoadTest {
+
+    public static void main(String[] args) throws Exception {
+        int streams = Integer.getInteger("loadtest.streams", 20);
+        double rate = Double.parseDouble(System.getProperty("loadtest.rate", "20"));
+        int duplicatePercent = Integer.getInteger("loadtest.duplicate-percent", 5);
+        int replayPercent = Integer.getInteger("loadtest.replay-percent", 10);
+        long pollIntervalMs = Long.getLong("loadtest.poll-interval-ms", 2_000L);
+        long durationSeconds = Long.getLong("loadtest.duration-seconds", 120L);
+        long drainSeconds = Long.getLong("loadtest.drain-seconds", 30L);
+        long bucketSeconds = Long.getLong("loadtest.bucket-seconds", 10L);
+        long analyzerLatencyMs = Long.getLong("loadtest.analyzer-latency-ms", 200L);
+        int batchMaxSize = Integer.getInteger("loadtest.batch-max-size", 16);
+        long batchMaxWaitMs = Long.getLong("loadtest.batch-max-wait-ms", 2_000L);
+
+        List<String> videoIds = IntStream.range(0, streams).mapToObj(i -> "load-" + i).toList();
+
+        try (StubYouTubeServer stub = new StubYouTubeServer(videoIds, rate, duplicatePercent, replayPercent, pollIntervalMs)) {
+            ConfigurableApplicationContext context = new SpringApplicationBuilder(DeVsApplication.class)
+                    .profiles("loadtest")
+                    .properties(
+                            "youtube.api.base-url=" + stub.baseUrl(),
+                            "sentiment.live.bucket-seconds=" + bucketSeconds,
+                            "sentiment.batch.max-size=" + batchMaxSize,
+                            "sentiment.batch.max-wait-ms=" + batchMaxWaitMs,
+                            "loadtest.analyzer-latency-ms=" + analyzerLatencyMs)
+                    .run(args);
+            try {
+                run(context, stub, videoIds, durationSeconds, drainSeconds);
+            } finally {
+                context.close();
+            }
+        }
+        System.exit(0);
+    }
+
+    private static void run(ConfigurableApplicationContext context, StubYouTubeServer stub, List<String> videoIds,
+                            long durationSeconds, long drainSeconds) throws Exception {
+        SentimentBroadcaster broadcaster = context.getBean(SentimentBroadcaster.class);
+        ChatIngestPipeline chatIngestPipeline = context.getBean(ChatIngestPipeline.class);
+        ChatRepository chatRepository = context.getBean(ChatRepository.class);
+        MeterRegistry registry = context.getBean(MeterRegistry.class);
+
+        // 대시보드 구독자처럼 방송마다 다음 구간 결과를 계속 기다린다
+        AtomicBoolean running = new AtomicBoolean(true);
+        LongAdder bucketsDelivered = new LongAdder();
+        LongAdder bucketsFailed = new LongAdder();
+        for (String videoId : videoIds) {
+            awaitBuckets(broadcaster, videoId, running, bucketsDelivered, bucketsFailed);
+        }
+
+        long startedAt = System.nanoTime();
+        for (long s = 10; s <= durationSeconds; s += 10) {
+            TimeUnit.SECONDS.sleep(10);
+            System.out.printf("[loadtest] %3ds received=%d ingested=%d buckets=%d%n",
+                    s, (long) count(registry, "chat.messages.received"),
+                    (long) count(registry, "chat.messages.ingested"), bucketsDelivered.sum());
+        }
+        TimeUnit.SECONDS.sleep(durationSeconds % 10);
+
+        // 생성을 멈추고 폴러가 남은 페이지를 모두 받아 가게 한다
+        stub.freeze();
+        running.set(false);
+        TimeUnit.SECONDS.sleep(drainSeconds);
+        chatIngestPipeline.flush();
+        double elapsedSec = (System.nanoTime() - startedAt) / 1e9;
+
+        long expected = 0;
+        long distinctStored = 0;
+        long rows = 0;
+        for (String videoId : videoIds) {
+            expected += stub.expectedUnique(videoId);
+
+            List<Chat> chats = chatRepository.findAllByVideoIdAndPublishedAtMsGreaterThanEqual(videoId, Long.MIN_VALUE);
+            Set<Long> contents = new HashSet<>();
+            chats.forEach(chat -> contents.add(StubYouTubeServer.contentSeqOf(chat.getText())));
+            rows += chats.size();
+            distinctStored += contents.size();
+        }
+        long missedDuplicates = rows - distinctStored;
+        long falseDrops = Math.max(0, expected - distinctStored);
+        double accuracy = expected == 0 ? 1.0 : 1.0 - (double) (missedDuplicates + falseDrops) / expected;
+
+        Timer bucket = registry.find("sentiment.live.bucket").timer();
+        Timer insert = registry.find("chat.batch.insert").timer();
+        Timer api = registry.find("youtube.api.requests").tag("endpoint", "liveChat.messages").timer();
+        DistributionSummary batches = registry.find("sentiment.batch.size").summary();
+
+        System.out.println();
+        System.out.println("===== live ingest load test =====");
+        System.out.printf("streams=%d elapsed=%.1fs stub pages=%d messages=%d%n",
+                videoIds.size(), elapsedSec, stub.pagesServed(), stub.messagesServed());
+        System.out.println("-- ingest");
+        System.out.printf("received   %10d  (%.1f msg/s)%n",
+                (long) count(registry, "chat.messages.received"), count(registry, "chat.messages.received") / elapsedSec);
+        System.out.printf("ingested   %10d  (%.1f msg/s)%n",
+                (long) count(registry, "chat.messages.ingested"), count(registry, "chat.messages.ingested") / elapsedSec);
+        System.out.printf("dropped    %10d%n", (long) count(registry, "chat.duplicates.dropped"));
+        System.out.println("-- dedupe");
+        System.out.printf("expected unique %d, stored rows %d, distinct %d%n", expected, rows, distinctStored);
+        System.out.printf("missed duplicates %d, false drops %d, accuracy %.4f%n", missedDuplicates, falseDrops, accuracy);
+        System.out.println("-- db writes");
+        System.out.printf("rows %d (%.1f rows/s)%s%n", rows, rows / elapsedSec, describe(insert, " batches"));
+        System.out.println("-- sentiment buckets");
+        System.out.printf("delivered %d, failed %d%s%n", bucketsDelivered.sum(), bucketsFailed.sum(), describe(bucket, ""));
+        if (batches != null && batches.count() > 0) {
+            System.out.printf("analyzer requests %d, windows per request mean %.1f max %.0f%n",
+                    batches.count(), batches.mean(), batches.max());
+        }
+        System.out.println("-- youtube api (liveChat.messages)");
+        System.out.println(describe(api, " calls").trim());
+    }
+
+    private static void awaitBuckets(SentimentBroadcaster broadcaster, String videoId, AtomicBoolean running,
+                                     LongAdder delivered, LongAdder failed) {
+        if (!running.get()) return;
+        CompletableFuture<?> next = broadcaster.nextBucket(videoId);
+        if (next == null) {
+            failed.increment();
+            return;
+        }
+        next.whenComplete((dto, e) -> {
+            if (e == null) delivered.increment();
+            else failed.increment();
+            awaitBuckets(broadcaster, videoId, running, delivered, failed);
+        });
+    }
+
+    private static double count(MeterRegistry registry, String name) {
+        Counter counter = registry.find(name).counter();
+        return counter == null ? 0 : counter.count();
+    }
+
+    private static String describe(Timer timer, String unit) {
+        if (timer == null || timer.count() == 0) return "";
+        StringBuilder sb = new StringBuilder(String.format(" | %d%s mean %.1fms max %.1fms",
+                timer.count(), unit, timer.mean(TimeUnit.MILLISECONDS), timer.max(TimeUnit.MILLISECONDS)));
+        for (ValueAtPercentile p : timer.takeSnapshot().percentileValues()) {
+            sb.append(String.format(" p%.0f %.1fms", p.percentile() * 100, p.value(TimeUnit.MILLISECONDS)));
+        }
+        return sb.toString();
+    }
+}
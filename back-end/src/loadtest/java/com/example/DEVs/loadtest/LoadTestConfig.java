@@ -0,0 +1,24 @@
+package com.example.DEVs.loadtest;
+
+import com.example.DEVs.service.PyAnalyzeService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+@Configuration
+@Profile("loadtest")
+public class LoadTestConfig {
+
+    @Bean
+    @Primary
+    public PyAnalyzeService stubAnalyzeService(ObjectMapper objectMapper, MeterRegistry meterRegistry,
+                                               JdbcTemplate jdbcTemplate,
+                                               @Value("${loadtest.analyzer-latency-ms:200}") long latencyMs) {
+        return new StubAnalyzeService(objectMapper, meterRegistry, jdbcTemplate, latencyMs);
+    }
+}
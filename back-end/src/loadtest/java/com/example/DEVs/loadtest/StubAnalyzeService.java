@@ -0,0 +1,72 @@
+package com.example.DEVs.loadtest;
+
+import com.example.DEVs.entity.Sentiment;
+import com.example.DEVs.service.PyAnalyzeService;
+import com.example.DEVs.service.SentimentWindow;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 파이썬 분석기 대신 쓰는 스텁
+ * 실제 분석기처럼 구간 채팅을 DB 에서 읽고(count), 설정한 지연만큼 기다린 뒤 고정된 규칙으로 감정 비율을 만든다.
+ */
+public class StubAnalyzeService extends PyAnalyzeService {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final long latencyMs;
+
+    public StubAnalyzeService(ObjectMapper objectMapper, MeterRegistry meterRegistry,
+                              JdbcTemplate jdbcTemplate, long latencyMs) {
+        super(objectMapper, meterRegistry);
+        this.jdbcTemplate = jdbcTemplate;
+        this.latencyMs = latencyMs;
+    }
+
+    @Override
+    public Sentiment runSentimentAnalyzer(String videoId, long collectStartTime, long collectEndTime) throws Exception {
+        Sentiment sentiment = classify(new SentimentWindow(videoId, collectStartTime, collectEndTime));
+        Thread.sleep(latencyMs);
+        return sentiment;
+    }
+
+    // 실제 워커처럼 구간마다 DB 를 읽고, 모델 지연은 묶음 전체에 한 번만 든다
+    @Override
+    public List<Sentiment> runSentimentAnalyzerBatch(List<SentimentWindow> windows) throws Exception {
+        List<Sentiment> sentiments = new ArrayList<>(windows.size());
+        for (SentimentWindow window : windows) {
+            sentiments.add(classify(window));
+        }
+        Thread.sleep(latencyMs);
+        return sentiments;
+    }
+
+    private Sentiment classify(SentimentWindow window) {
+        String videoId = window.getVideoId();
+        long collectStartTime = window.getCollectStartTime();
+        Integer total = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM youtube_comments WHERE video_id = ? AND published_at_ms >= ? AND published_at_ms < ?",
+                Integer.class, videoId, collectStartTime, window.getCollectEndTime());
+
+        double positive = 40 + Math.floorMod(videoId.hashCode() + collectStartTime / 1000, 40);
+        double negative = (100 - positive) / 3;
+
+        Sentiment sentiment = new Sentiment();
+        sentiment.setVideoId(videoId);
+        sentiment.setTimelineMs(collectStartTime);
+        sentiment.setTotalMessages(total == null ? 0 : total);
+        sentiment.setPositive(positive);
+        sentiment.setNegative(negative);
+        sentiment.setNeutral(100 - positive - negative);
+        return sentiment;
+    }
+
+    @Override
+    public String runHighlightVideo(String videoPath) throws Exception {
+        Thread.sleep(latencyMs);
+        return "[loadtest] " + videoPath;
+    }
+}
@@ -0,0 +1,250 @@
+package com.example.DEVs.loadtest;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * /videos, /liveChat/messages 만 흉내 내는 로컬 YouTube Data API 스텁
+ *
+ * 스트림마다 초당 rate 개의 메시지를 시간에 맞춰 만들고, pageToken 은 다음 메시지 번호("p123")다.
+ * - duplicatePercent: 최근 메시지와 작성자+내용이 같은 재전송 (ID 는 새로 발급)
+ * - replayPercent: 페이지를 앞 메시지 몇 개와 겹쳐 돌려줌 (같은 ID 재전송)
+ * 메시지 n 의 내용은 n 만으로 정해지므로, 끝난 뒤 DB 와 비교해 중복 판정 정확도를 계산할 수 있다.
+ */
+public class StubYouTubeServer implements AutoCloseable {
+
+    private static final int PAGE_SIZE = 500;
+    private static final int REPLAY_OVERLAP = 10;
+    // 재전송은 원본과 이 시간 안에만 만든다 (서버 중복 윈도우 60초보다 짧게)
+    private static final long DUPLICATE_MAX_GAP_MS = 30_000L;
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final Map<String, Stream> streams = new HashMap<>();
+
+    private final int duplicatePercent;
+    private final int replayPercent;
+    private final long pollingIntervalMillis;
+
+    private final LongAdder pagesServed = new LongAdder();
+    private final LongAdder messagesServed = new LongAdder();
+
+    public StubYouTubeServer(List<String> videoIds, double ratePerSecond, int duplicatePercent,
+                             int replayPercent, long pollingIntervalMillis) throws IOException {
+        this.duplicatePercent = duplicatePercent;
+        this.replayPercent = replayPercent;
+        this.pollingIntervalMillis = pollingIntervalMillis;
+
+        long now = System.currentTimeMillis();
+        for (String videoId : videoIds) {
+            streams.put(videoId, new Stream(videoId, now, ratePerSecond));
+        }
+
+        executor = Executors.newFixedThreadPool(16, runnable -> {
+            Thread thread = new Thread(runnable, "stub-youtube");
+            thread.setDaemon(true);
+            return thread;
+        });
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/videos", this::videos);
+        server.createContext("/liveChat/messages", this::liveChatMessages);
+        server.setExecutor(executor);
+        server.start();
+    }
+
+    public String baseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    /**
+     * 새 메시지 생성을 멈춘다. 이후 폴링은 남은 메시지만 받아 간다.
+     */
+    public void freeze() {
+        long now = System.currentTimeMillis();
+        streams.values().forEach(stream -> stream.frozenAtMillis = now);
+    }
+
+    public long pagesServed() {
+        return pagesServed.sum();
+    }
+
+    public long messagesServed() {
+        return messagesServed.sum();
+    }
+
+    /**
+     * 클라이언트가 받아 간 메시지 중 작성자+내용이 처음 나온 메시지 수 (= 저장돼야 할 채팅 수)
+     */
+    public long expectedUnique(String videoId) {
+        Stream stream = streams.get(videoId);
+        long served = stream.maxServed.get();
+        long unique = 0;
+        for (long n = 0; n < served; n++) {
+            if (stream.contentSeq(n) == n) unique++;
+        }
+        return unique;
+    }
+
+    // 저장된 채팅 내용이 어느 원본 메시지인지
+    public static long contentSeqOf(String text) {
+        int end = text.indexOf(' ', 4);
+        return Long.parseLong(text.substring(4, end < 0 ? text.length() : end));
+    }
+
+    private void videos(HttpExchange exchange) throws IOException {
+        String videoId = query(exchange).get("id");
+        Stream stream = streams.get(videoId);
+        if (stream == null) {
+            respond(exchange, 200, null, "{\"items\":[]}");
+            return;
+        }
+
+        String etag = "\"" + videoId + "-1\"";
+        if (etag.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+            respond(exchange, 304, etag, "");
+            return;
+        }
+        respond(exchange, 200, etag, "{\"items\":[{\"id\":\"" + videoId + "\",\"liveStreamingDetails\":{"
+                + "\"actualStartTime\":\"" + Instant.ofEpochMilli(stream.startMillis) + "\","
+                + "\"activeLiveChatId\":\"" + stream.liveChatId() + "\"}}]}");
+    }
+
+    private void liveChatMessages(HttpExchange exchange) throws IOException {
+        Map<String, String> query = query(exchange);
+        String liveChatId = query.getOrDefault("liveChatId", "");
+        Stream stream = streams.get(liveChatId.startsWith("chat-") ? liveChatId.substring(5) : liveChatId);
+        if (stream == null) {
+            respond(exchange, 404, null, "{\"error\":{\"code\":404,\"message\":\"liveChatNotFound\"}}");
+            return;
+        }
+
+        String token = query.get("pageToken");
+        long from = token == null ? 0 : Long.parseLong(token.substring(1));
+        long to = Math.min(stream.produced(System.currentTimeMillis()), from + PAGE_SIZE);
+        // 일부 페이지는 앞 메시지와 겹쳐서 보낸다
+        long start = from > 0 && hash(stream.videoId, from, 7) % 100 < replayPercent
+                ? Math.max(0, from - REPLAY_OVERLAP)
+                : from;
+
+        StringBuilder sb = new StringBuilder(256 + (int) (to - start) * 320)
+                .append("{\"kind\":\"youtube#liveChatMessageListResponse\",")
+                .append("\"nextPageToken\":\"p").append(Math.max(from, to)).append("\",")
+                .append("\"pollingIntervalMillis\":").append(pollingIntervalMillis).append(",")
+                .append("\"items\":[");
+        for (long n = start; n < to; n++) {
+            if (n > start) sb.append(',');
+            stream.appendMessage(sb, n);
+        }
+        sb.append("]}");
+
+        stream.maxServed.accumulateAndGet(to, Math::max);
+        pagesServed.increment();
+        messagesServed.add(Math.max(0, to - start));
+        respond(exchange, 200, null, sb.toString());
+    }
+
+    private static Map<String, String> query(HttpExchange exchange) {
+        Map<String, String> params = new HashMap<>();
+        String raw = exchange.getRequestURI().getRawQuery();
+        if (raw == null) return params;
+        for (String pair : raw.split("&")) {
+            int eq = pair.indexOf('=');
+            if (eq > 0) {
+                params.put(pair.substring(0, eq), URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8));
+            }
+        }
+        return params;
+    }
+
+    private static void respond(HttpExchange exchange, int status, String etag, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=UTF-8");
+        if (etag != null) exchange.getResponseHeaders().set("ETag", etag);
+        exchange.sendResponseHeaders(status, bytes.length == 0 ? -1 : bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static long hash(String videoId, long n, int salt) {
+        long h = videoId.hashCode() * 0x9E3779B97F4A7C15L + n * 31 + salt;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        return h & Long.MAX_VALUE;
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private class Stream {
+        private final String videoId;
+        private final long startMillis;
+        private final double ratePerSecond;
+        private final AtomicLong maxServed = new AtomicLong();
+        private volatile long frozenAtMillis = Long.MAX_VALUE;
+
+        Stream(String videoId, long startMillis, double ratePerSecond) {
+            this.videoId = videoId;
+            this.startMillis = startMillis;
+            this.ratePerSecond = ratePerSecond;
+        }
+
+        String liveChatId() {
+            return "chat-" + videoId;
+        }
+
+        long produced(long now) {
+            long elapsed = Math.max(0, Math.min(now, frozenAtMillis) - startMillis);
+            return (long) (elapsed * ratePerSecond / 1000);
+        }
+
+        long offsetMillis(long n) {
+            return (long) (n * 1000 / ratePerSecond);
+        }
+
+        /**
+         * 메시지 n 이 재전송이면 원본 번호, 아니면 n
+         * 원본은 재전송이 아닌 메시지 중 DUPLICATE_MAX_GAP_MS 안에 있는 것만 고른다.
+         */
+        long contentSeq(long n) {
+            if (n == 0 || hash(videoId, n, 1) % 100 >= duplicatePercent) return n;
+
+            long maxBack = Math.max(1, (long) (DUPLICATE_MAX_GAP_MS / 1000.0 * ratePerSecond));
+            long candidate = n - 1 - hash(videoId, n, 2) % Math.min(n, maxBack);
+            while (candidate >= 0 && offsetMillis(n) - offsetMillis(candidate) <= DUPLICATE_MAX_GAP_MS) {
+                if (candidate == 0 || hash(videoId, candidate, 1) % 100 >= duplicatePercent) return candidate;
+                candidate--;
+            }
+            return n;
+        }
+
+        void appendMessage(StringBuilder sb, long n) {
+            long content = contentSeq(n);
+            sb.append("{\"kind\":\"youtube#liveChatMessage\",\"id\":\"").append(videoId).append('-').append(n).append("\",")
+                    .append("\"snippet\":{\"type\":\"textMessageEvent\",\"publishedAt\":\"")
+                    .append(Instant.ofEpochMilli(startMillis + offsetMillis(n))).append("\",")
+                    .append("\"hasDisplayContent\":true,\"displayMessage\":\"msg ").append(content)
+                    .append(" ㅋㅋㅋ 이 장면 다시 보자\"},")
+                    .append("\"authorDetails\":{\"channelId\":\"UC").append(content % 997).append("\",")
+                    .append("\"displayName\":\"viewer").append(content % 997).append("\"}}");
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.DEVs.config;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * youtube_comments.id 를 IDENTITY 에서 시퀀스(youtube_comments_seq, allocationSize 50)로 바꾼 뒤의 마이그레이션
+ * ddl-auto=update 는 시퀀스를 1 부터 만들기 때문에 기존 DB 에서는 이미 있는 id 와 겹친다.
+ * 스키마 갱신이 끝난 뒤, 첫 insert 전에 시퀀스를 max(id) 뒤로 옮긴다.
+ * 다른 인스턴스가 이미 받아 간 id 블록을 다시 내주지 않도록 시퀀스는 앞으로만 움직인다. (RESTART 하지 않음)
+ */
+@Slf4j
+@Component
+@DependsOn("entityManagerFactory")
+@RequiredArgsConstructor
+public class ChatIdSequenceMigration {
+
+    // Chat 의 @SequenceGenerator allocationSize 와 같아야 한다
+    private static final long ALLOCATION_SIZE = 50;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @PostConstruct
+    void alignSequence() {
+        jdbcTemplate.execute("CREATE SEQUENCE IF NOT EXISTS youtube_comments_seq START WITH 1 INCREMENT BY " + ALLOCATION_SIZE);
+
+        // setval/last_value 는 PostgreSQL 전용. 부하 테스트용 H2 는 늘 빈 DB 로 시작하므로 맞출 것이 없다
+        String product = jdbcTemplate.execute((ConnectionCallback<String>) c -> c.getMetaData().getDatabaseProductName());
+        if (!"PostgreSQL".equalsIgnoreCase(product)) return;
+
+        // pooled optimizer 는 nextval 값 v 에서 (v - 49) ~ v 를 쓰므로, 시퀀스 값이 max(id) + 50 이상이면 다음 블록이 겹치지 않는다
+        Long value = jdbcTemplate.queryForObject(
+                "SELECT setval('youtube_comments_seq', GREATEST("
+                        + "(SELECT last_value FROM youtube_comments_seq), "
+                        + "(SELECT COALESCE(MAX(id), 0) FROM youtube_comments) + " + ALLOCATION_SIZE + "))",
+                Long.class);
+        log.info("youtube_comments_seq 정렬. value={}", value);
+    }
+}
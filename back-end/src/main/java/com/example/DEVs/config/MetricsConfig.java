@@ -0,0 +1,74 @@
+package com.example.DEVs.config;
+
+import com.example.DEVs.service.ChatBatchWriter;
+import com.example.DEVs.service.ChatIngestPipeline;
+import com.example.DEVs.service.ClipRenderScheduler;
+import com.example.DEVs.service.HighlightJobService;
+import com.example.DEVs.service.LiveSessionRegistry;
+import com.example.DEVs.service.SentimentBatcher;
+import com.example.DEVs.service.SentimentBroadcaster;
+import com.example.DEVs.service.YouTubeApiClient;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 대기열 길이, 세션 수처럼 현재 상태를 읽는 게이지
+ * 타이머와 카운터는 각 서비스에서 직접 기록한다.
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public MeterBinder renderQueueMetrics(ClipRenderScheduler scheduler, HighlightJobService highlightJobService) {
+        return registry -> {
+            Gauge.builder("render.queue.depth", scheduler, ClipRenderScheduler::ffmpegQueueDepth)
+                    .tag("lane", "ffmpeg")
+                    .register(registry);
+            Gauge.builder("render.queue.depth", scheduler, ClipRenderScheduler::summaryQueueDepth)
+                    .tag("lane", "summary")
+                    .register(registry);
+            Gauge.builder("render.active", scheduler, ClipRenderScheduler::ffmpegActive)
+                    .tag("lane", "ffmpeg")
+                    .register(registry);
+            Gauge.builder("render.active", scheduler, ClipRenderScheduler::summaryActive)
+                    .tag("lane", "summary")
+                    .register(registry);
+            Gauge.builder("highlight.job.queue.depth", highlightJobService, HighlightJobService::queueDepth)
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder liveMetrics(LiveSessionRegistry sessionRegistry,
+                                   SentimentBroadcaster sentimentBroadcaster,
+                                   SentimentBatcher sentimentBatcher,
+                                   ChatIngestPipeline chatIngestPipeline,
+                                   ChatBatchWriter chatBatchWriter) {
+        return registry -> {
+            Gauge.builder("live.sessions.active", sessionRegistry, LiveSessionRegistry::size)
+                    .register(registry);
+            Gauge.builder("sentiment.analyses.active", sentimentBroadcaster, SentimentBroadcaster::activeAnalysisCount)
+                    .register(registry);
+            Gauge.builder("sentiment.subscribers", sentimentBroadcaster, SentimentBroadcaster::subscriberCount)
+                    .register(registry);
+            Gauge.builder("sentiment.batch.pending", sentimentBatcher, SentimentBatcher::pendingCount)
+                    .register(registry);
+            Gauge.builder("chat.ingest.ring.depth", chatIngestPipeline, ChatIngestPipeline::depth)
+                    .register(registry);
+            Gauge.builder("chat.batch.buffered", chatBatchWriter, ChatBatchWriter::bufferedCount)
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder youTubeQuotaMetrics(YouTubeApiClient youTubeApiClient) {
+        // 키 목록은 시작 시 고정이므로 키마다 게이지 하나
+        return registry -> youTubeApiClient.remainingQuota().keySet().forEach(key ->
+                Gauge.builder("youtube.api.quota.remaining", youTubeApiClient,
+                                client -> client.remainingQuota().getOrDefault(key, 0L))
+                        .tag("key", key)
+                        .register(registry));
+    }
+}
@@ -0,0 +1,107 @@
+package com.example.DEVs.config;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.orm.jpa.EntityManagerFactoryDependsOnPostProcessor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+
+/**
+ * "HH:mm:ss" 문자열 시각 컬럼을 방송 시작 기준 ms 컬럼으로 바꾸는 마이그레이션
+ * - youtube_comments.published_at → published_at_ms
+ * - video_highlight.start_time / end_time → start_ms / end_ms
+ * - sentiment.timeline → timeline_ms, PK (video_id, timeline) → (video_id, timeline_ms)
+ *
+ * ddl-auto=update 는 값이 있는 테이블에 NOT NULL 컬럼을 추가하지 못하고 PK 도 바꾸지 않으므로,
+ * 스키마 갱신(entityManagerFactory) 전에 실행해 컬럼 추가 → 채우기 → 제약 추가 → 옛 컬럼 삭제를 한 트랜잭션으로 처리한다.
+ * 옛 컬럼이 없으면(새 DB 이거나 이미 옮겼으면) 아무것도 하지 않는다.
+ */
+@Slf4j
+@Component
+public class TimeOffsetMigration {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    public TimeOffsetMigration(DataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+    }
+
+    @PostConstruct
+    void migrate() {
+        transactionTemplate.executeWithoutResult(status -> {
+            if (migrateColumn("youtube_comments", "published_at", "published_at_ms")) {
+                dropColumn("youtube_comments", "published_at");
+            }
+            if (migrateColumn("video_highlight", "start_time", "start_ms")) {
+                dropColumn("video_highlight", "start_time");
+            }
+            if (migrateColumn("video_highlight", "end_time", "end_ms")) {
+                dropColumn("video_highlight", "end_time");
+            }
+            migrateSentimentKey();
+        });
+    }
+
+    // 새 컬럼을 만들어 옛 값으로 채우고 NOT NULL 을 건다. 옛 컬럼이 없으면 false
+    private boolean migrateColumn(String table, String oldColumn, String newColumn) {
+        if (!columnExists(table, oldColumn)) return false;
+
+        jdbcTemplate.execute("ALTER TABLE " + table + " ADD COLUMN IF NOT EXISTS " + newColumn + " BIGINT");
+        int rows = jdbcTemplate.update("UPDATE " + table + " SET " + newColumn + " = " + toMillis(oldColumn)
+                + " WHERE " + newColumn + " IS NULL");
+        jdbcTemplate.execute("ALTER TABLE " + table + " ALTER COLUMN " + newColumn + " SET NOT NULL");
+        log.info("시각 컬럼 마이그레이션. table={}, {} → {}, rows={}", table, oldColumn, newColumn, rows);
+        return true;
+    }
+
+    private void dropColumn(String table, String column) {
+        jdbcTemplate.execute("ALTER TABLE " + table + " DROP COLUMN " + column);
+    }
+
+    // 옛 PK 에 timeline 이 들어 있으므로 PK 를 바꾼 뒤에 옛 컬럼을 지운다
+    private void migrateSentimentKey() {
+        if (!migrateColumn("sentiment", "timeline", "timeline_ms")) return;
+
+        String primaryKey = jdbcTemplate.queryForObject(
+                "SELECT constraint_name FROM information_schema.table_constraints "
+                        + "WHERE table_schema = current_schema() AND lower(table_name) = 'sentiment' "
+                        + "AND constraint_type = 'PRIMARY KEY'",
+                String.class);
+        jdbcTemplate.execute("ALTER TABLE sentiment DROP CONSTRAINT " + primaryKey);
+        dropColumn("sentiment", "timeline");
+        jdbcTemplate.execute("ALTER TABLE sentiment ADD PRIMARY KEY (video_id, timeline_ms)");
+        log.info("sentiment PK 변경. (video_id, timeline) → (video_id, timeline_ms)");
+    }
+
+    private boolean columnExists(String table, String column) {
+        Integer count = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM information_schema.columns "
+                        + "WHERE table_schema = current_schema() AND lower(table_name) = ? AND lower(column_name) = ?",
+                Integer.class, table, column);
+        return count != null && count > 0;
+    }
+
+    // TimelineFormat.parse 와 같은 계산 ("HH:mm:ss"). 값이 없거나 빈 문자열인 행은 0 으로 둔다
+    private static String toMillis(String column) {
+        String value = "NULLIF(" + column + ", '')";
+        return "COALESCE((split_part(" + value + ", ':', 1)::bigint * 3600"
+                + " + split_part(" + value + ", ':', 2)::bigint * 60"
+                + " + split_part(" + value + ", ':', 3)::bigint) * 1000, 0)";
+    }
+
+    /**
+     * 스키마 갱신보다 먼저 실행되도록 entityManagerFactory 가 이 빈을 기다리게 한다.
+     */
+    @Component
+    static class EntityManagerFactoryDependsOnMigration extends EntityManagerFactoryDependsOnPostProcessor {
+        EntityManagerFactoryDependsOnMigration() {
+            super("timeOffsetMigration");
+        }
+    }
+}
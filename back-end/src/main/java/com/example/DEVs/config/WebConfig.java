@@ -1,10 +1,8 @@
 package com.example.DEVs.config;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
 import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
@@ -17,13 +15,15 @@ public class WebConfig implements WebMvcConfigurer {
                 .allowedOrigins("http://localhost:3000")
                 .allowedMethods("GET", "POST")
                 .allowedHeaders("*")
+                .exposedHeaders("ETag")
                 .allowCredentials(false)
                 .maxAge(3600);
 
         registry.addMapping("/API/**")
                 .allowedOrigins("http://localhost:3000")
-                .allowedMethods("GET", "POST")
+                .allowedMethods("GET", "POST", "PUT")
                 .allowedHeaders("*")
+                .exposedHeaders("ETag")
                 .allowCredentials(false)
                 .maxAge(3600);
 
@@ -38,23 +38,8 @@ public class WebConfig implements WebMvcConfigurer {
                 .addResourceLocations("file:./videos/");
     }
 
-    @Value("${youtube.api.key}")
-    private String apiKey;
-
-    @Bean
-    public WebClient youtubeWebClient() {
-        return WebClient.builder()
-                .baseUrl("https://www.googleapis.com/youtube/v3")
-                .build();
-    }
-
     @Bean
     public ObjectMapper objectMapper() {
         return new ObjectMapper();
     }
-
-    @Bean
-    public String youtubeApiKey() {
-        return apiKey;
-    }
 }
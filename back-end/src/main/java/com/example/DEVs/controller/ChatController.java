@@ -1,63 +1,143 @@
 package com.example.DEVs.controller;
 
-import com.example.DEVs.entity.Sentiment;
-import com.example.DEVs.repository.SentimentRepository;
-import com.example.DEVs.service.PyAnalyzeService;
-import com.example.DEVs.service.YouTubeService;
+import com.example.DEVs.dto.LiveSessionStatsDto;
+import com.example.DEVs.dto.SentimentDto;
+import com.example.DEVs.service.LiveHighlightDetector;
+import com.example.DEVs.service.LiveSessionRegistry;
+import com.example.DEVs.service.SentimentBroadcaster;
+import com.example.DEVs.service.SentimentHistoryService;
+import com.example.DEVs.service.TimelineCache;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
-import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 @RequiredArgsConstructor
 @RestController
 @RequestMapping("/youtube")
 public class ChatController {
 
-    private final YouTubeService youTubeService;
-    private final PyAnalyzeService pyAnalService;
-    private final SentimentRepository sentimentRepository;
+    // 타임라인 한 번에 돌려주는 최대 포인트 수
+    private static final int MAX_TIMELINE_POINTS = 2_000;
 
+    // SSE 연결 유지 시간 (끊기면 EventSource 가 다시 연결한다)
+    private static final long SENTIMENT_STREAM_TIMEOUT_MS = 30 * 60_000L;
+
+    private final SentimentBroadcaster sentimentBroadcaster;
+    private final SentimentHistoryService sentimentHistoryService;
+    private final LiveHighlightDetector liveHighlightDetector;
+    private final LiveSessionRegistry liveSessionRegistry;
 
     /**
-     * 특정 비디오 ID의 라이브 채팅을 수집하고 DB에 저장
-     * youtube api 사용
+     * 특정 비디오 ID의 감정 분석을 (이미 돌고 있지 않으면) 시작하고 다음 분석 구간 결과를 반환
+     * 분석은 영상마다 백그라운드에서 한 번만 돌고, 이 요청은 그 결과를 기다리기만 한다.
+     * 계속 받아야 하면 /live/sentiment/stream 을 구독한다.
      *
-     * @param videoId         유튜브 비디오 ID
-     * @param durationSeconds 수집 지속 시간 (초)
-     * @return 성공 메시지
+     * @param videoId 유튜브 비디오 ID
+     * @return 다음 감정 분석 결과
      */
     @PostMapping("/live/sentiment/start")
-    public ResponseEntity<?> collectLiveChat(
-            @RequestParam String videoId,
-            @RequestParam(defaultValue = "60") int durationSeconds) {
+    public CompletableFuture<ResponseEntity<?>> collectLiveChat(@RequestParam String videoId) {
 
-        try {
-            long collectStartTime = Instant.now().toEpochMilli();
-            Instant liveStartTime = youTubeService.collectLiveChat(videoId, durationSeconds);
-            collectStartTime -= liveStartTime.toEpochMilli();
+        CompletableFuture<SentimentDto> next = sentimentBroadcaster.nextBucket(videoId);
+        if (next == null) {
+            return CompletableFuture.completedFuture(ResponseEntity.notFound().build());
+        }
 
-            Sentiment sentiment = pyAnalService.runSentimentAnalyzer(videoId, collectStartTime);
-            sentimentRepository.save(sentiment);
+        return next.<ResponseEntity<?>>thenApply(ResponseEntity::ok)
+                .exceptionally(e -> ResponseEntity.internalServerError()
+                        .body("Python 분석 오류: " + (e.getCause() != null ? e.getCause() : e).getMessage()));
+    }
 
-        } catch (Exception e) {
-            return ResponseEntity.internalServerError()
-                    .body("Python 분석 오류: " + e.getMessage());
+    /**
+     * 감정 분석 결과 구독 (SSE)
+     * 분석 구간이 끝날 때마다 sentiment 이벤트, 방송이 끝나면 offline 이벤트를 보낸다.
+     */
+    @GetMapping("/live/sentiment/stream")
+    public SseEmitter streamSentiment(@RequestParam String videoId) {
+        SseEmitter emitter = new SseEmitter(SENTIMENT_STREAM_TIMEOUT_MS);
+        if (!sentimentBroadcaster.subscribe(videoId, emitter)) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "not live: " + videoId);
         }
+        return emitter;
+    }
 
-        // 저장된 sentiment list 가져오기
-        return sentimentRepository.findFirstByVideoIdOrderByTimelineDesc(videoId)
-                .map(ResponseEntity::ok)
-                .orElse(ResponseEntity.notFound().build());
+    /**
+     * 감정 분석 이력. 바뀌지 않았으면 If-None-Match 로 304 를 돌려준다.
+     */
+    @RequestMapping(value = "/live/chat", method = {RequestMethod.GET, RequestMethod.POST})
+    public ResponseEntity<?> loadLiveChat(@RequestParam String videoId, WebRequest request){
+        TimelineCache.Entry<SentimentDto> history = sentimentHistoryService.history(videoId);
+        if (request.checkNotModified(history.getEtag())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(history.getEtag()).build();
+        }
+        return ResponseEntity.ok()
+                .eTag(history.getEtag())
+                .body(Map.of("Chats", history.getValue()));
+    }
 
+    /**
+     * 그래프용 감정 타임라인
+     * points 를 주면 전체 이력을 그 개수로 다운샘플링하고,
+     * 없으면 since(ms) 이후 구간을 limit 개씩 돌려준다. 다음 페이지는 nextCursor 를 since 로 넘긴다.
+     */
+    @GetMapping("/live/timeline")
+    public ResponseEntity<?> loadTimeline(@RequestParam String videoId,
+                                          @RequestParam(defaultValue = "-1") long since,
+                                          @RequestParam(defaultValue = "500") int limit,
+                                          @RequestParam(required = false) Integer points,
+                                          WebRequest request) {
+        if (points != null) {
+            int target = Math.max(3, Math.min(points, MAX_TIMELINE_POINTS));
+            TimelineCache.Entry<SentimentDto> history = sentimentHistoryService.history(videoId);
+            // 같은 이력이라도 포인트 수마다 응답이 달라 ETag 에 포함
+            String etag = "\"" + history.getEtag().replace("\"", "") + "-" + target + "\"";
+            if (request.checkNotModified(etag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+            }
+            return ResponseEntity.ok()
+                    .eTag(etag)
+                    .body(Map.of(
+                            "total", history.getValue().size(),
+                            "points", sentimentHistoryService.downsampled(videoId, target)
+                    ));
+        }
+
+        int pageSize = Math.max(1, Math.min(limit, MAX_TIMELINE_POINTS));
+        List<SentimentDto> page = sentimentHistoryService.page(videoId, since, pageSize);
+
+        Map<String, Object> body = new HashMap<>();
+        body.put("points", page);
+        body.put("nextCursor", page.size() == pageSize ? page.get(page.size() - 1).getTimelineMs() : null);
+        return ResponseEntity.ok(body);
+    }
+
+    /**
+     * 라이브 중 감지된 하이라이트 후보와 최근 채팅 급등 구간
+     */
+    @GetMapping("/live/moments")
+    public ResponseEntity<?> loadLiveMoments(@RequestParam String videoId) {
+        return ResponseEntity.ok(Map.of(
+                "candidates", liveHighlightDetector.currentCandidates(videoId),
+                "moments", liveHighlightDetector.recentMoments(videoId)
+        ));
     }
 
-    @PostMapping("/live/chat")
-    public ResponseEntity<?> loadLiveChat(@RequestParam String videoId){
+    // 수집 중인 라이브 세션과 세션별 수집 통계
+    @GetMapping("/live/sessions")
+    public ResponseEntity<?> loadLiveSessions() {
         return ResponseEntity.ok(Map.of(
-                "Chats", sentimentRepository.findAllByVideoIdOrderByTimeline(videoId)
+                "sessions", liveSessionRegistry.all().stream()
+                        .map(LiveSessionStatsDto::from)
+                        .toList()
         ));
     }
 
@@ -1,31 +1,168 @@
 package com.example.DEVs.controller;
 
 import com.example.DEVs.dto.HighlightDataDto;
+import com.example.DEVs.service.HighlightJob;
+import com.example.DEVs.service.HighlightJobService;
 import com.example.DEVs.service.HighlightService;
+import com.example.DEVs.service.TimelineCache;
+import com.example.DEVs.service.VideoUpload;
+import com.example.DEVs.service.VideoUploadService;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.io.IOException;
-import java.util.List;
 import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
 
 @RestController
 @RequestMapping("/API/video")
 @RequiredArgsConstructor
 public class VideoController {
 
-    private final HighlightService highlightServiceService;
+    // SSE 연결 유지 시간 (컷/요약이 길어질 수 있음)
+    private static final long JOB_EVENTS_TIMEOUT_MS = 60 * 60_000L;
 
+    private final HighlightJobService highlightJobService;
+    private final HighlightService highlightService;
+    private final VideoUploadService videoUploadService;
+
+    /**
+     * 영상을 저장하고 하이라이트 생성 작업을 등록한다.
+     * 결과는 /jobs/{jobId} 조회 또는 /jobs/{jobId}/events 구독으로 받는다.
+     */
     @PostMapping("/analyze")
     public ResponseEntity<?> uploadVideo(@RequestParam("video") MultipartFile videoFile,
-                                         @RequestParam String channelId) throws Exception {
+                                         @RequestParam String channelId,
+                                         @RequestParam(defaultValue = "0") int priority) throws Exception {
+        try {
+            HighlightJob job = highlightJobService.submit(videoFile, channelId, priority);
+            return ResponseEntity.accepted().body(job.toDto());
+        } catch (RejectedExecutionException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    /**
+     * 분할 업로드 시작
+     *
+     * @param channelId 비디오 ID
+     * @param size      전체 파일 크기 (byte)
+     */
+    @PostMapping("/uploads")
+    public ResponseEntity<?> createUpload(@RequestParam String channelId,
+                                          @RequestParam(defaultValue = "-1") long size) throws IOException {
+        VideoUpload upload = videoUploadService.create(channelId, size);
+        return ResponseEntity.ok(Map.of("uploadId", upload.getId(), "offset", upload.getOffset()));
+    }
+
+    // 재개할 위치 조회
+    @GetMapping("/uploads/{uploadId}")
+    public ResponseEntity<?> uploadStatus(@PathVariable String uploadId) {
+        return videoUploadService.find(uploadId)
+                .<ResponseEntity<?>>map(upload -> ResponseEntity.ok(Map.of("uploadId", upload.getId(), "offset", upload.getOffset())))
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * 청크 전송. 요청 본문(application/octet-stream)을 그대로 파일에 이어 쓴다.
+     */
+    @PutMapping("/uploads/{uploadId}")
+    public ResponseEntity<?> uploadChunk(@PathVariable String uploadId,
+                                         @RequestParam long offset,
+                                         HttpServletRequest request) throws IOException {
+        VideoUpload upload = videoUploadService.find(uploadId).orElse(null);
+        if (upload == null) return ResponseEntity.notFound().build();
+
+        try {
+            long next = videoUploadService.appendChunk(upload, offset, request.getInputStream());
+            return ResponseEntity.ok(Map.of("uploadId", uploadId, "offset", next));
+        } catch (VideoUploadService.UploadOffsetMismatchException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(Map.of("uploadId", uploadId, "offset", e.getExpectedOffset()));
+        } catch (VideoUploadService.UploadSizeExceededException e) {
+            return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE)
+                    .body(Map.of("uploadId", uploadId, "offset", e.getOffset(), "size", e.getTotalSize()));
+        }
+    }
+
+    /**
+     * 업로드 완료. 이미 분석한 영상과 내용이 같으면 기존 하이라이트를 바로 돌려주고,
+     * 아니면 하이라이트 작업을 등록한다.
+     */
+    @PostMapping("/uploads/{uploadId}/complete")
+    public ResponseEntity<?> completeUpload(@PathVariable String uploadId,
+                                            @RequestParam(defaultValue = "0") int priority) throws IOException {
+        VideoUpload upload = videoUploadService.find(uploadId).orElse(null);
+        if (upload == null) return ResponseEntity.notFound().build();
+        if (!upload.isComplete()) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(Map.of("uploadId", uploadId, "offset", upload.getOffset()));
+        }
+
+        VideoUploadService.UploadResult result;
+        try {
+            result = videoUploadService.complete(upload);
+        } catch (VideoUploadService.VideoBusyException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(Map.of("uploadId", uploadId, "error", e.getMessage()));
+        }
+        if (result.isDuplicate()) {
+            // 같은 영상을 아직 분석 중이면 그 작업을 돌려준다
+            HighlightJob running = highlightJobService.findActive(result.getVideoId()).orElse(null);
+            if (running != null) return ResponseEntity.accepted().body(running.toDto());
+
+            return ResponseEntity.ok(Map.of(
+                    "duplicate", true,
+                    "videoId", result.getVideoId(),
+                    "highlights", highlightService.loadHighlightTimeline(result.getVideoId())
+            ));
+        }
+
+        try {
+            HighlightJob job = highlightJobService.submit(result.getVideoId(), priority);
+            return ResponseEntity.accepted().body(job.toDto());
+        } catch (RejectedExecutionException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    /**
+     * 저장된 하이라이트 목록. 바뀌지 않았으면 If-None-Match 로 304 를 돌려준다.
+     */
+    @GetMapping("/highlights/{videoId}")
+    public ResponseEntity<?> highlights(@PathVariable String videoId, WebRequest request) {
+        TimelineCache.Entry<HighlightDataDto> timeline = highlightService.highlightTimeline(videoId);
+        if (request.checkNotModified(timeline.getEtag())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(timeline.getEtag()).build();
+        }
+        return ResponseEntity.ok()
+                .eTag(timeline.getEtag())
+                .body(Map.of("videoId", videoId, "highlights", timeline.getValue()));
+    }
+
+    @GetMapping("/jobs/{jobId}")
+    public ResponseEntity<?> jobStatus(@PathVariable String jobId) {
+        return highlightJobService.find(jobId)
+                .<ResponseEntity<?>>map(job -> ResponseEntity.ok(job.toDto()))
+                .orElse(ResponseEntity.notFound().build());
+    }
 
-        List<HighlightDataDto> timeline = highlightServiceService.highlightVideo(videoFile, channelId);
+    @GetMapping("/jobs/{jobId}/events")
+    public SseEmitter jobEvents(@PathVariable String jobId) {
+        HighlightJob job = highlightJobService.find(jobId)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "job not found: " + jobId));
 
-        return ResponseEntity.ok(Map.of(
-                "highlights", timeline
-        ));
+        SseEmitter emitter = new SseEmitter(JOB_EVENTS_TIMEOUT_MS);
+        job.subscribe(emitter);
+        return emitter;
     }
 }
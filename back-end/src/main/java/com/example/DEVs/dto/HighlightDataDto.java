@@ -11,6 +11,8 @@ public class HighlightDataDto {
     private Long id;
     private String startTime;
     private String endTime;
+    private long startMs;
+    private long endMs;
     private double positiveRate;
     private double viewerIncrease;
     private String summary;
@@ -0,0 +1,22 @@
+package com.example.DEVs.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@Builder
+public class HighlightJobDto {
+    private String jobId;
+    private String videoId;
+    private String status;     // QUEUED, RUNNING, DONE, FAILED
+    private String stage;      // UPLOADED, EXTRACTING, CUTTING, DONE ...
+    private int clipsTotal;
+    private int clipsCut;
+    private int clipsSummarized;
+    private String error;
+    private List<HighlightDataDto> highlights;
+}
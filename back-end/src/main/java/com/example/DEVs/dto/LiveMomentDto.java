@@ -0,0 +1,22 @@
+package com.example.DEVs.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@Builder
+public class LiveMomentDto {
+    private String startTime;   // "HH:mm:ss"
+    private String endTime;
+    private long startMs;
+    private long endMs;
+    private double score;
+    private double positive;
+    private int totalMessages;
+    // 평소 채팅량 대비 배율
+    private double chatRateRatio;
+    // 평소 긍정 비율 대비 차이 (%p)
+    private double positiveDelta;
+}
@@ -0,0 +1,39 @@
+package com.example.DEVs.dto;
+
+import com.example.DEVs.service.LiveChatSession;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@Builder
+public class LiveSessionStatsDto {
+    private String videoId;
+    private String liveChatId;
+    private String liveStartTime;
+    private long pollDelayMillis;
+    private double messageRate;
+    private long polls;
+    private long pollErrors;
+    private long messagesReceived;
+    private long messagesStored;
+    private long duplicatesDropped;
+    private int dedupeWindowSize;
+
+    public static LiveSessionStatsDto from(LiveChatSession session) {
+        return LiveSessionStatsDto.builder()
+                .videoId(session.getVideoId())
+                .liveChatId(session.getLiveChatId())
+                .liveStartTime(session.getLiveStartTime().toString())
+                .pollDelayMillis(session.getPollDelayMillis())
+                .messageRate(session.getMessageRate())
+                .polls(session.getPolls().sum())
+                .pollErrors(session.getPollErrors().sum())
+                .messagesReceived(session.getMessagesReceived().sum())
+                .messagesStored(session.getMessagesStored().sum())
+                .duplicatesDropped(session.getDuplicatesDropped().sum())
+                .dedupeWindowSize(session.getDedupeWindow().size())
+                .build();
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.DEVs.dto;
+
+import com.example.DEVs.entity.Sentiment;
+import com.example.DEVs.util.TimelineFormat;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@Builder
+public class SentimentDto {
+    private String videoId;
+    private String timeline;    // "HH:mm:ss"
+    private long timelineMs;
+    private Integer totalMessages;
+    private Double positive;
+    private Double negative;
+    private Double neutral;
+
+    public static SentimentDto from(Sentiment s) {
+        return SentimentDto.builder()
+                .videoId(s.getVideoId())
+                .timeline(TimelineFormat.format(s.getTimelineMs()))
+                .timelineMs(s.getTimelineMs())
+                .totalMessages(s.getTotalMessages())
+                .positive(s.getPositive())
+                .negative(s.getNegative())
+                .neutral(s.getNeutral())
+                .build();
+    }
+}
@@ -7,14 +7,21 @@ import lombok.Setter;
 @Getter
 @Setter
 @Entity
-@Table(name = "youtube_comments")
+@Table(name = "youtube_comments",
+        indexes = @Index(name = "idx_youtube_comments_video_published", columnList = "video_id, published_at_ms"))
 public class Chat {
+    // IDENTITY 는 insert 마다 키를 받아와야 해서 batch insert 가 불가능 → 시퀀스를 미리 할당
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "youtube_comments_seq")
+    @SequenceGenerator(name = "youtube_comments_seq", sequenceName = "youtube_comments_seq", allocationSize = 50)
     private Long id;
     private String videoId;
     private String author;
     @Column(columnDefinition = "TEXT")
     private String text;
-    private String publishedAt;
+    // 방송 시작 기준 오프셋 (ms)
+    private long publishedAtMs;
+    // 수집 시 규칙으로 판정한 감정 (positive/negative/neutral). null 이면 LLM 분석 대상
+    @Column(length = 8)
+    private String localSentiment;
 }
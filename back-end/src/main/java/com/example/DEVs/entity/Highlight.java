@@ -6,7 +6,8 @@ import lombok.Getter;
 import lombok.Setter;
 
 @Entity
-@Table(name = "video_highlight")
+@Table(name = "video_highlight",
+        indexes = @Index(name = "idx_video_highlight_video_start", columnList = "video_id, start_ms"))
 @Getter
 @Setter
 public class Highlight {
@@ -17,8 +18,8 @@ public class Highlight {
 
     private String videoId;
 
-    private String startTime;  // 00:05:00
-    private String endTime;    // 00:06:00
+    private long startMs;   // 방송 시작 기준 오프셋 (ms)
+    private long endMs;
 
     private double positive;
     private double increaseRate;
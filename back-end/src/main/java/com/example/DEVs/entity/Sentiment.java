@@ -13,10 +13,11 @@ import lombok.Setter;
 @IdClass(SentimentId.class)
 @Table(name = "Sentiment")
 public class Sentiment {
+    // (video_id, timeline_ms) 복합 PK 가 그대로 시계열 인덱스 역할을 한다
     @Id
     private String videoId;
     @Id
-    private String timeline;
+    private Long timelineMs;    // 방송 시작 기준 오프셋 (ms)
     private Integer totalMessages;
 
     private Double positive;
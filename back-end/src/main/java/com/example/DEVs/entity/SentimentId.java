@@ -7,5 +7,5 @@ import java.io.Serializable;
 @EqualsAndHashCode
 public class SentimentId implements Serializable {
     private String videoId;
-    private String timeline;
-}
\ No newline at end of file
+    private Long timelineMs;
+}
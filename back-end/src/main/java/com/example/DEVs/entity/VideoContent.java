@@ -0,0 +1,23 @@
+package com.example.DEVs.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * 업로드된 원본 영상의 내용 해시 → 비디오 ID
+ * 같은 영상이 다시 올라오면 저장과 하이라이트 생성을 건너뛰는 데 사용
+ */
+@Getter
+@Setter
+@Entity
+@Table(name = "video_content", indexes = @Index(name = "idx_video_content_video_id", columnList = "video_id"))
+public class VideoContent {
+
+    @Id
+    @Column(length = 64)
+    private String contentHash;   // SHA-256 hex
+
+    private String videoId;
+    private long sizeBytes;
+}
@@ -4,13 +4,9 @@ import com.example.DEVs.entity.Chat;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 @Repository
 public interface ChatRepository extends JpaRepository<Chat, Long> {
-    boolean existsByVideoIdAndAuthorAndTextAndPublishedAtBetween(
-            String videoId,
-            String author,
-            String text,
-            String start,
-            String end
-    );
+    List<Chat> findAllByVideoIdAndPublishedAtMsGreaterThanEqual(String videoId, long publishedAtMs);
 }
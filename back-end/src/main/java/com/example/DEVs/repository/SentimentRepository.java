@@ -2,13 +2,17 @@ package com.example.DEVs.repository;
 
 import com.example.DEVs.entity.Sentiment;
 import com.example.DEVs.entity.SentimentId;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 
 import java.util.List;
 import java.util.Optional;
 
 public interface SentimentRepository extends JpaRepository<Sentiment, SentimentId> {
-    Optional<Sentiment> findFirstByVideoIdOrderByTimelineDesc(String videoId);
-    List<Sentiment> findAllByVideoIdOrderByTimeline(String videoId);
+    Optional<Sentiment> findFirstByVideoIdOrderByTimelineMsDesc(String videoId);
+    Optional<Sentiment> findFirstByVideoIdOrderByTimelineMsAsc(String videoId);
+    long countByVideoId(String videoId);
+    List<Sentiment> findAllByVideoIdOrderByTimelineMs(String videoId);
+    List<Sentiment> findByVideoIdAndTimelineMsGreaterThanOrderByTimelineMs(String videoId, long timelineMs, Limit limit);
 
 }
@@ -0,0 +1,12 @@
+package com.example.DEVs.repository;
+
+import com.example.DEVs.entity.VideoContent;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface VideoContentRepository extends JpaRepository<VideoContent, String> {
+    Optional<VideoContent> findFirstByVideoId(String videoId);
+    List<VideoContent> findAllByVideoId(String videoId);
+}
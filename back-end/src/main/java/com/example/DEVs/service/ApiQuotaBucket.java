@@ -0,0 +1,56 @@
+package com.example.DEVs.service;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+
+/**
+ * API 키 하나의 쿼터를 추적하는 버킷
+ * YouTube Data API 쿼터는 태평양 시간 자정에 한 번에 초기화되므로, 하루 동안 채우지 않고
+ * 자정을 넘기면 용량으로 되돌린다. (쓴 만큼 조금씩 채우면 실제로는 소진된 키에 요청을 보내게 된다)
+ * 서버가 쿼터 초과를 알려 오면 drain() 으로 비워 다음 자정까지 그 키를 쉬게 한다.
+ */
+public class ApiQuotaBucket {
+
+    public static final ZoneId QUOTA_ZONE = ZoneId.of("America/Los_Angeles");
+
+    private final long capacity;
+
+    private long tokens;
+    private long nextResetMillis;
+
+    public ApiQuotaBucket(long capacity, long nowMillis) {
+        this.capacity = capacity;
+        this.tokens = capacity;
+        this.nextResetMillis = nextMidnight(nowMillis);
+    }
+
+    public synchronized boolean tryAcquire(int units, long nowMillis) {
+        resetIfNewDay(nowMillis);
+        if (tokens < units) return false;
+        tokens -= units;
+        return true;
+    }
+
+    public synchronized long available(long nowMillis) {
+        resetIfNewDay(nowMillis);
+        return tokens;
+    }
+
+    public synchronized void drain(long nowMillis) {
+        resetIfNewDay(nowMillis);
+        tokens = 0;
+    }
+
+    private void resetIfNewDay(long nowMillis) {
+        if (nowMillis < nextResetMillis) return;
+        tokens = capacity;
+        nextResetMillis = nextMidnight(nowMillis);
+    }
+
+    // nowMillis 다음의 태평양 시간 자정 (서머타임이 바뀌는 날도 그날의 자정)
+    private static long nextMidnight(long nowMillis) {
+        LocalDate today = Instant.ofEpochMilli(nowMillis).atZone(QUOTA_ZONE).toLocalDate();
+        return today.plusDays(1).atStartOfDay(QUOTA_ZONE).toInstant().toEpochMilli();
+    }
+}
@@ -0,0 +1,172 @@
+package com.example.DEVs.service;
+
+import com.example.DEVs.entity.Chat;
+import com.example.DEVs.repository.ChatRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 수집한 채팅을 모아 두었다가 JDBC batch insert 로 한 번에 저장한다.
+ * 버퍼가 batchSize 만큼 차거나 flushIntervalMs 가 지나면 flush 한다.
+ * 저장에 실패한 묶음은 버리지 않고 맨 앞에 두었다가 간격을 늘려 가며 다시 저장하고,
+ * MAX_ATTEMPTS 번 실패하면 그때 버린다.
+ */
+@Slf4j
+@Service
+@DependsOn("chatIdSequenceMigration")
+@RequiredArgsConstructor
+public class ChatBatchWriter {
+
+    private static final int MAX_ATTEMPTS = 5;
+    private static final long RETRY_BASE_MS = 1_000L;
+    private static final long RETRY_MAX_MS = 30_000L;
+
+    private final ChatRepository chatRepository;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${chat.batch.size:500}")
+    private int batchSize;
+
+    @Value("${chat.batch.flush-interval-ms:1000}")
+    private long flushIntervalMs;
+
+    private final ConcurrentLinkedQueue<Chat> buffer = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger buffered = new AtomicInteger();
+
+    // 저장에 실패해 다시 시도할 묶음 (flush 안에서만 접근)
+    private final ArrayDeque<List<Chat>> failed = new ArrayDeque<>();
+    private int failedAttempts;
+    private long retryAtMillis;
+
+    private final ScheduledExecutorService flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "chat-batch-writer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private Timer insertTimer;
+
+    @PostConstruct
+    void startFlusher() {
+        insertTimer = Timer.builder("chat.batch.insert")
+                .description("채팅 batch insert 한 번에 걸린 시간")
+                .register(meterRegistry);
+        flusher.scheduleWithFixedDelay(this::flushQuietly, flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    public void add(Collection<Chat> chats) {
+        if (chats.isEmpty()) return;
+
+        buffer.addAll(chats);
+        if (buffered.addAndGet(chats.size()) >= batchSize) {
+            flusher.execute(this::flushQuietly);
+        }
+    }
+
+    /**
+     * 버퍼에 남은 채팅을 모두 저장한다. 분석 전처럼 DB 에 반영돼 있어야 할 때 직접 호출한다.
+     * 앞서 실패한 묶음이 있으면 그것부터 저장하며, 저장에 실패하면 예외를 던진다. (묶음은 남아 있다)
+     */
+    public synchronized void flush() {
+        retryFailed();
+
+        List<Chat> batch = new ArrayList<>(batchSize);
+        Chat chat;
+        while ((chat = buffer.poll()) != null) {
+            batch.add(chat);
+            if (batch.size() == batchSize) {
+                saveOrKeep(batch);
+                batch = new ArrayList<>(batchSize);
+            }
+        }
+        if (!batch.isEmpty()) {
+            saveOrKeep(batch);
+        }
+    }
+
+    public int bufferedCount() {
+        return buffered.get();
+    }
+
+    private void retryFailed() {
+        while (!failed.isEmpty()) {
+            List<Chat> batch = failed.peekFirst();
+            try {
+                save(batch);
+                failed.pollFirst();
+                failedAttempts = 0;
+            } catch (RuntimeException e) {
+                if (++failedAttempts >= MAX_ATTEMPTS) {
+                    failed.pollFirst();
+                    failedAttempts = 0;
+                    buffered.addAndGet(-batch.size());
+                    log.error("채팅 batch insert {}회 실패, 묶음을 버림. size={}", MAX_ATTEMPTS, batch.size(), e);
+                    continue;
+                }
+                retryAtMillis = System.currentTimeMillis()
+                        + Math.min(RETRY_MAX_MS, RETRY_BASE_MS << (failedAttempts - 1));
+                throw e;
+            }
+        }
+    }
+
+    // 실패하면 묶음을 재시도 목록 맨 뒤(버퍼보다 앞)에 두고 예외를 던진다
+    private void saveOrKeep(List<Chat> batch) {
+        if (!failed.isEmpty()) {
+            failed.addLast(batch);
+            return;
+        }
+        try {
+            save(batch);
+        } catch (RuntimeException e) {
+            failed.addLast(batch);
+            failedAttempts = 1;
+            retryAtMillis = System.currentTimeMillis() + RETRY_BASE_MS;
+            throw e;
+        }
+    }
+
+    private void save(List<Chat> batch) {
+        // 롤백된 insert 에서 받은 id 가 남아 있으면 merge 로 처리되므로 비운다
+        batch.forEach(chat -> chat.setId(null));
+        insertTimer.record(() -> chatRepository.saveAll(batch));
+        buffered.addAndGet(-batch.size());
+    }
+
+    private void flushQuietly() {
+        // 주기 flush 는 재시도 간격이 지나기 전에는 건너뛴다 (직접 호출한 flush 는 바로 시도)
+        synchronized (this) {
+            if (!failed.isEmpty() && System.currentTimeMillis() < retryAtMillis) return;
+        }
+        try {
+            flush();
+        } catch (Exception e) {
+            log.error("채팅 batch insert 실패, 재시도 대기. pending={}", buffered.get(), e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flusher.shutdown();
+        // 종료 때는 재시도 간격을 기다리지 않고 한 번 더 저장해 본다
+        try {
+            flush();
+        } catch (Exception e) {
+            log.error("종료 중 채팅 batch insert 실패, 버려짐. pending={}", buffered.get(), e);
+        }
+    }
+}
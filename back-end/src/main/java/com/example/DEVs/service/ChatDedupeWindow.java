@@ -0,0 +1,116 @@
+package com.example.DEVs.service;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 비디오별 채팅 중복 판정용 슬라이딩 윈도우
+ * 같은 메시지 ID, 또는 같은 작성자+내용이 ±60초 안에 다시 들어오면 중복으로 본다.
+ * 세션의 폴링 작업 하나에서만 호출되므로 동기화하지 않는다.
+ */
+public class ChatDedupeWindow {
+
+    public static final long WINDOW_MS = 60_000L;
+    private static final int DEFAULT_MAX_ENTRIES = 100_000;
+
+    private final int maxEntries;
+
+    // key hash -> 마지막으로 본 publishedAt (ms)
+    private final Map<Long, Long> lastSeen = new HashMap<>();
+    // 입력 순서대로 쌓아 두고 오래된 것부터 제거
+    private final ArrayDeque<long[]> entries = new ArrayDeque<>();
+    private long newestMillis = Long.MIN_VALUE;
+
+    public ChatDedupeWindow() {
+        this(DEFAULT_MAX_ENTRIES);
+    }
+
+    public ChatDedupeWindow(int maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * 중복이면 true, 처음 보는 메시지면 윈도우에 기록하고 false
+     *
+     * @param messageId YouTube 메시지 ID (없으면 null)
+     */
+    public boolean checkAndRecord(String messageId, String author, String text, long publishedAtMs) {
+        return checkAndRecord(idKey(messageId), contentKey(author, text), publishedAtMs);
+    }
+
+    /**
+     * 미리 계산한 key 로 판정 (문자열을 만들지 않고 버퍼에서 바로 hash 한 경우)
+     *
+     * @param idKey 메시지 ID 가 없으면 0
+     */
+    public boolean checkAndRecord(long idKey, long contentKey, long publishedAtMs) {
+        boolean hasId = idKey != 0L;
+        if (hasId && lastSeen.containsKey(idKey)) {
+            return true;
+        }
+        Long last = lastSeen.get(contentKey);
+        if (last != null && Math.abs(publishedAtMs - last) <= WINDOW_MS) {
+            return true;
+        }
+
+        if (hasId) {
+            record(idKey, publishedAtMs);
+        }
+        record(contentKey, publishedAtMs);
+        evict();
+        return false;
+    }
+
+    /**
+     * 세션 재시작 시 DB 에 남아 있는 최근 채팅으로 윈도우를 채운다.
+     */
+    public void seed(String author, String text, long publishedAtMs) {
+        record(hash(author, text), publishedAtMs);
+        evict();
+    }
+
+    public int size() {
+        return lastSeen.size();
+    }
+
+    private void record(long key, long publishedAtMs) {
+        lastSeen.put(key, publishedAtMs);
+        entries.addLast(new long[]{key, publishedAtMs});
+        newestMillis = Math.max(newestMillis, publishedAtMs);
+    }
+
+    private void evict() {
+        long threshold = newestMillis - WINDOW_MS;
+        while (!entries.isEmpty()
+                && (entries.peekFirst()[1] < threshold || entries.size() > maxEntries)) {
+            long[] oldest = entries.pollFirst();
+            // 같은 key 가 더 최근에 기록됐으면 남겨 둔다
+            lastSeen.remove(oldest[0], oldest[1]);
+        }
+    }
+
+    public static long idKey(CharSequence messageId) {
+        return messageId == null ? 0L : hash("id", messageId);
+    }
+
+    public static long contentKey(CharSequence author, CharSequence text) {
+        return hash(author, text);
+    }
+
+    // FNV-1a 64bit
+    static long hash(CharSequence first, CharSequence second) {
+        long h = 0xcbf29ce484222325L;
+        h = mix(h, first);
+        h = (h ^ 0x1F) * 0x100000001b3L;
+        return mix(h, second);
+    }
+
+    private static long mix(long h, CharSequence value) {
+        if (value == null) return h;
+        for (int i = 0; i < value.length(); i++) {
+            h = (h ^ value.charAt(i)) * 0x100000001b3L;
+        }
+        return h;
+    }
+}
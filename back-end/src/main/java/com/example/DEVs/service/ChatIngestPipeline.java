@@ -0,0 +1,192 @@
+package com.example.DEVs.service;
+
+import com.example.DEVs.entity.Chat;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 라이브 채팅 수집 파이프라인
+ * 폴링 스레드: 응답 파싱 → 링 버퍼에 레코드 복사 (publish)
+ * 수집 스레드: 링 버퍼에서 꺼내 세션별 중복 판정 → 감정 사전 판정 → Chat 생성 → ChatBatchWriter (batch insert)
+ *
+ * 중복 판정은 수집 스레드 하나에서만 하므로 세션의 중복 윈도우는 여전히 동기화 없이 쓴다.
+ * 한 세션의 페이지는 순서대로 폴링되므로 링 버퍼 안에서도 세션별 순서가 유지된다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ChatIngestPipeline {
+
+    // 한 번에 꺼내 처리하는 최대 레코드 수
+    private static final int DRAIN_BATCH = 1024;
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final long FLUSH_TIMEOUT_MS = 5_000L;
+
+    private final ChatBatchWriter chatBatchWriter;
+    private final MeterRegistry meterRegistry;
+
+    // 2 의 거듭제곱
+    @Value("${chat.ingest.ring-size:65536}")
+    private int ringSize;
+
+    // 뻔한 채팅은 수집 단계에서 감정을 정해 LLM 분석기로 보내지 않는다
+    @Value("${sentiment.preclassify.enabled:true}")
+    private boolean preclassifyEnabled;
+
+    private ChatIngestRing ring;
+    private Thread consumer;
+    private volatile boolean running;
+    // 이 위치까지는 ChatBatchWriter 로 넘어감
+    private volatile long handedOff;
+
+    // 수집 스레드 전용
+    private List<Chat> pending = new ArrayList<>();
+    private final ChatPreClassifier preClassifier = new ChatPreClassifier();
+    private int storedInBatch;
+    private int droppedInBatch;
+    private int localInBatch;
+
+    private Timer dedupeTimer;
+    private Counter messagesStored;
+    private Counter duplicatesDropped;
+    private Counter preclassified;
+
+    @PostConstruct
+    void start() {
+        ring = new ChatIngestRing(ringSize);
+
+        dedupeTimer = Timer.builder("chat.ingest.dedupe")
+                .description("링 버퍼에서 꺼낸 채팅 묶음의 중복 판정 + Chat 생성 시간")
+                .register(meterRegistry);
+        messagesStored = meterRegistry.counter("chat.messages.ingested");
+        duplicatesDropped = meterRegistry.counter("chat.duplicates.dropped");
+        preclassified = meterRegistry.counter("chat.sentiment.preclassified");
+
+        running = true;
+        consumer = new Thread(this::consumeLoop, "chat-ingest");
+        consumer.setDaemon(true);
+        consumer.start();
+    }
+
+    /**
+     * 폴링 스레드에서 호출. record 내용은 복사되므로 호출 후 재사용해도 된다.
+     */
+    public void publish(ChatRecord record) {
+        ring.publish(record);
+    }
+
+    // 한 페이지를 다 넣은 뒤 수집 스레드를 깨운다
+    public void signal() {
+        LockSupport.unpark(consumer);
+    }
+
+    /**
+     * 지금까지 publish 된 채팅을 모두 DB 에 반영한다. 분석 전처럼 DB 에 있어야 할 때 호출한다.
+     */
+    public void flush() {
+        long target = ring.claimedSequence();
+        long deadline = System.currentTimeMillis() + FLUSH_TIMEOUT_MS;
+        while (handedOff < target && running) {
+            if (System.currentTimeMillis() > deadline) {
+                log.warn("채팅 수집 flush 대기 시간 초과. handedOff={}, target={}", handedOff, target);
+                break;
+            }
+            LockSupport.unpark(consumer);
+            LockSupport.parkNanos(IDLE_PARK_NANOS / 10);
+        }
+        chatBatchWriter.flush();
+    }
+
+    public int depth() {
+        return ring.depth();
+    }
+
+    private void consumeLoop() {
+        while (running) {
+            try {
+                int drained;
+                if (ring.depth() > 0) {
+                    Timer.Sample sample = Timer.start(meterRegistry);
+                    drained = ring.drain(this::ingest, DRAIN_BATCH);
+                    sample.stop(dedupeTimer);
+                    recordCounts();
+                } else {
+                    drained = 0;
+                }
+
+                if (drained < DRAIN_BATCH) {
+                    // 따라잡았으면 모은 채팅을 저장 단계로 넘기고 쉰다
+                    handOff();
+                    if (drained == 0) LockSupport.parkNanos(IDLE_PARK_NANOS);
+                }
+            } catch (Throwable e) {
+                log.error("채팅 수집 처리 실패", e);
+            }
+        }
+        // 종료 시 남은 레코드까지 넘긴다
+        while (ring.drain(this::ingest, DRAIN_BATCH) > 0) {
+            recordCounts();
+        }
+        handOff();
+    }
+
+    private void ingest(ChatRecord record) {
+        LiveChatSession session = record.getSession();
+        if (session.getDedupeWindow().checkAndRecord(record.getIdKey(), record.getContentKey(), record.getPublishedAtMs())) {
+            session.recordIngested(false);
+            droppedInBatch++;
+            return;
+        }
+
+        Chat chat = new Chat();
+        chat.setVideoId(session.getVideoId());
+        chat.setAuthor(record.getAuthor().toString());
+        chat.setText(record.getText().toString());
+        chat.setPublishedAtMs(record.getPublishedAtMs());
+        if (preclassifyEnabled) {
+            chat.setLocalSentiment(preClassifier.classify(record.getText()));
+            if (chat.getLocalSentiment() != null) localInBatch++;
+        }
+        pending.add(chat);
+
+        session.recordIngested(true);
+        storedInBatch++;
+    }
+
+    private void recordCounts() {
+        messagesStored.increment(storedInBatch);
+        duplicatesDropped.increment(droppedInBatch);
+        preclassified.increment(localInBatch);
+        storedInBatch = 0;
+        droppedInBatch = 0;
+        localInBatch = 0;
+    }
+
+    private void handOff() {
+        long consumed = ring.consumedSequence();
+        if (!pending.isEmpty()) {
+            chatBatchWriter.add(pending);
+            pending = new ArrayList<>();
+        }
+        handedOff = consumed;
+    }
+
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        running = false;
+        LockSupport.unpark(consumer);
+        consumer.join(FLUSH_TIMEOUT_MS);
+    }
+}
@@ -0,0 +1,112 @@
+package com.example.DEVs.service;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/**
+ * 폴링 스레드 여러 개 → 수집 스레드 하나로 채팅 레코드를 넘기는 고정 크기 링 버퍼 (락 없음)
+ * 슬롯 레코드를 미리 만들어 두고 내용만 복사하므로 메시지당 객체를 만들지 않는다.
+ * 슬롯마다 sequence 를 두는 bounded MPMC 큐 방식이며, 소비자는 하나만 둔다.
+ * 가득 차면 생산자는 자리가 날 때까지 잠깐씩 쉬며 기다린다.
+ */
+public class ChatIngestRing {
+
+    private static final int SPINS_BEFORE_PARK = 64;
+    private static final long PARK_NANOS = 50_000L;
+
+    private final int mask;
+    private final ChatRecord[] slots;
+    private final AtomicLongArray sequences;
+    private final AtomicLong tail = new AtomicLong();
+    // 소비자 스레드만 쓰고, 다른 스레드는 depth 계산에만 읽는다
+    private volatile long head;
+
+    public ChatIngestRing(int capacity) {
+        if (capacity < 2 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("capacity 는 2 의 거듭제곱이어야 합니다. capacity=" + capacity);
+        }
+        this.mask = capacity - 1;
+        this.slots = new ChatRecord[capacity];
+        this.sequences = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            slots[i] = new ChatRecord();
+            sequences.set(i, i);
+        }
+    }
+
+    /**
+     * record 내용을 빈 슬롯에 복사해 넣는다. 가득 차 있으면 기다린다.
+     */
+    public void publish(ChatRecord record) {
+        long pos = tail.get();
+        int spins = 0;
+        while (true) {
+            int index = (int) (pos & mask);
+            long diff = sequences.get(index) - pos;
+            if (diff == 0) {
+                if (tail.compareAndSet(pos, pos + 1)) {
+                    slots[index].copyFrom(record);
+                    sequences.lazySet(index, pos + 1);
+                    return;
+                }
+                pos = tail.get();
+            } else if (diff < 0) {
+                // 가득 참 → 소비자가 따라올 때까지 대기
+                if (++spins < SPINS_BEFORE_PARK) {
+                    Thread.onSpinWait();
+                } else {
+                    LockSupport.parkNanos(PARK_NANOS);
+                }
+                pos = tail.get();
+            } else {
+                pos = tail.get();
+            }
+        }
+    }
+
+    /**
+     * 들어온 순서대로 최대 max 개를 꺼내 handler 에 넘긴다. 소비자 스레드에서만 호출한다.
+     * handler 에 넘긴 레코드는 반환 후 재사용되므로 밖에 보관하면 안 된다.
+     *
+     * @return 처리한 개수
+     */
+    public int drain(Consumer<ChatRecord> handler, int max) {
+        long pos = head;
+        int count = 0;
+        while (count < max) {
+            int index = (int) (pos & mask);
+            if (sequences.get(index) != pos + 1) break;
+
+            ChatRecord record = slots[index];
+            try {
+                handler.accept(record);
+            } finally {
+                record.clear();
+                sequences.lazySet(index, pos + mask + 1);
+                pos++;
+                head = pos;
+            }
+            count++;
+        }
+        return count;
+    }
+
+    // 생산자가 자리를 잡은 위치 (아직 쓰는 중인 슬롯 포함)
+    public long claimedSequence() {
+        return tail.get();
+    }
+
+    public long consumedSequence() {
+        return head;
+    }
+
+    public int depth() {
+        return (int) Math.max(0, tail.get() - head);
+    }
+
+    public int capacity() {
+        return mask + 1;
+    }
+}
@@ -0,0 +1,152 @@
+package com.example.DEVs.service;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 수집 단계에서 채팅 한 줄의 감정을 미리 판정하는 규칙 기반 분류기
+ * "ㅋㅋㅋ", 이모지만 있는 채팅, "!!!", 짧은 감탄사처럼 뻔한 채팅은 여기서 판정하고
+ * 판정할 수 없는 채팅(null)만 LLM 분석기로 보낸다.
+ *
+ * 같은 글자 반복은 두 글자로 줄여서 사전을 찾는다. ("대박박박" → "대박박", "굿굿굿" → "굿굿")
+ * 긍정 신호와 부정 신호가 섞여 있거나("ㅋㅋ 노잼") 사전에 없는 단어가 하나라도 있으면 판정하지 않는다.
+ *
+ * 단어 버퍼를 재사용하므로 스레드 하나에서만 쓴다. (수집 스레드)
+ */
+public class ChatPreClassifier {
+
+    public static final String POSITIVE = "positive";
+    public static final String NEGATIVE = "negative";
+    public static final String NEUTRAL = "neutral";
+
+    // 이보다 긴 채팅은 문장일 가능성이 높아 바로 분석기로 보낸다
+    private static final int MAX_CODE_POINTS = 40;
+
+    private static final int SIGNAL_NONE = 0;
+    private static final int SIGNAL_POSITIVE = 1;
+    private static final int SIGNAL_NEGATIVE = 2;
+    private static final int SIGNAL_NEUTRAL = 3;
+    private static final int SIGNAL_UNKNOWN = -1;
+
+    private static final Map<String, Integer> LEXICON = new HashMap<>();
+    private static final Map<Integer, Integer> EMOJI = new HashMap<>();
+
+    static {
+        words(SIGNAL_POSITIVE,
+                "대박", "대박박", "최고", "굿", "굿굿", "굳", "개꿀", "꿀잼", "개웃기네", "웃기네", "잘한다", "미쳤다",
+                "미쳤네", "레전드", "갓", "사랑해", "좋아", "좋다", "귀여워", "멋지다", "멋있다", "천재", "나이스",
+                "와", "와아", "와아아", "우와", "오오", "ㄱㅇㄷ", "ㅇㅈ", "ㄱㄱ", "ㅊㅋ", "축하해", "축하합니다", "ㄳ", "감사합니다",
+                "lol", "lmao", "good", "nice", "wow", "woww", "pog", "poggers", "gg", "ez", "goat", "love");
+        words(SIGNAL_NEGATIVE,
+                "노잼", "별로", "실망", "최악", "싫어", "짜증", "망했다", "망함", "ㅅㅂ", "시발", "씨발", "에바",
+                "극혐", "구려", "구리다", "억까", "노답", "ㄴㄴ", "ㅡㅡ", "bad", "boring", "trash", "cringe");
+        words(SIGNAL_NEUTRAL,
+                "ㄹㅇ", "ㄷㄷ", "ㄷ", "헐", "오", "엥", "ㅇㅇ", "ㅇ", "ㅁㅊ", "머임", "뭐임", "뭐야", "ㅁㅇ", "첫", "ㅎㅇ",
+                "ok", "omg", "wtf", "hi", "first");
+
+        emoji(SIGNAL_POSITIVE,
+                0x1F602, 0x1F923, 0x1F606, 0x1F604, 0x1F601, 0x1F600, 0x1F603, 0x1F60A, 0x1F60D, 0x1F970,
+                0x1F618, 0x1F929, 0x1F60E, 0x1F44D, 0x1F44F, 0x1F64C, 0x1F525, 0x1F389, 0x1F4AF, 0x2764,
+                0x2665, 0x1F495, 0x1F496, 0x1F497, 0x1F49C, 0x1F499, 0x1F973, 0x1F63B, 0x1F60B, 0x1F917);
+        emoji(SIGNAL_NEGATIVE,
+                0x1F62D, 0x1F622, 0x1F621, 0x1F92C, 0x1F620, 0x1F44E, 0x1F494, 0x1F61E, 0x1F629, 0x1F62B,
+                0x1F92E, 0x1F624, 0x1F612, 0x1F644, 0x1F4A9);
+        emoji(SIGNAL_NEUTRAL,
+                0x1F914, 0x1F610, 0x1F611, 0x1F62E, 0x1F632, 0x1F440, 0x1F633, 0x1F631, 0x1F62F, 0x1F636);
+    }
+
+    private final StringBuilder word = new StringBuilder(32);
+
+    /**
+     * @return POSITIVE / NEGATIVE / NEUTRAL, 판정할 수 없으면 null
+     */
+    public String classify(CharSequence text) {
+        boolean positive = false;
+        boolean negative = false;
+        int codePoints = 0;
+        int previous = -1;
+        int run = 0;
+        word.setLength(0);
+
+        for (int i = 0; i < text.length(); ) {
+            int cp = Character.codePointAt(text, i);
+            i += Character.charCount(cp);
+            if (++codePoints > MAX_CODE_POINTS) return null;
+
+            if (isWordChar(cp)) {
+                // 같은 글자 반복은 두 글자까지만 남긴다
+                run = cp == previous ? run + 1 : 1;
+                previous = cp;
+                if (run <= 2) word.appendCodePoint(Character.toLowerCase(cp));
+                continue;
+            }
+            previous = -1;
+
+            // 단어가 끝남
+            if (word.length() > 0) {
+                int wordSignal = lookupWord();
+                if (wordSignal == SIGNAL_UNKNOWN) return null;
+                positive |= wordSignal == SIGNAL_POSITIVE;
+                negative |= wordSignal == SIGNAL_NEGATIVE;
+            }
+
+            int signal = signalOf(cp);
+            if (signal == SIGNAL_UNKNOWN) return null;
+            positive |= signal == SIGNAL_POSITIVE;
+            negative |= signal == SIGNAL_NEGATIVE;
+        }
+        if (word.length() > 0) {
+            int wordSignal = lookupWord();
+            if (wordSignal == SIGNAL_UNKNOWN) return null;
+            positive |= wordSignal == SIGNAL_POSITIVE;
+            negative |= wordSignal == SIGNAL_NEGATIVE;
+        }
+
+        if (positive && negative) return null;
+        if (positive) return POSITIVE;
+        if (negative) return NEGATIVE;
+        return NEUTRAL;
+    }
+
+    private int lookupWord() {
+        Integer signal = LEXICON.get(word.toString());
+        word.setLength(0);
+        return signal == null ? SIGNAL_UNKNOWN : signal;
+    }
+
+    // 단어를 이루는 글자. ㅋ ㅎ ㅠ ㅜ 는 단어가 아니라 그 자체로 신호
+    private static boolean isWordChar(int cp) {
+        return Character.isLetter(cp) && signalOfJamo(cp) == SIGNAL_NONE;
+    }
+
+    private static int signalOfJamo(int cp) {
+        return switch (cp) {
+            case 'ㅋ', 'ㅎ' -> SIGNAL_POSITIVE;
+            case 'ㅠ', 'ㅜ' -> SIGNAL_NEGATIVE;
+            default -> SIGNAL_NONE;
+        };
+    }
+
+    private static int signalOf(int cp) {
+        int jamo = signalOfJamo(cp);
+        if (jamo != SIGNAL_NONE) return jamo;
+        if (Character.isWhitespace(cp) || Character.isDigit(cp)) return SIGNAL_NONE;
+
+        return switch (cp) {
+            case '!', '.', ',', '~', '-', '…' -> SIGNAL_NONE;
+            case '^', '♡' -> SIGNAL_POSITIVE;
+            case '?' -> SIGNAL_NEUTRAL;
+            // 변형 선택자, ZWJ, 피부색 수정자는 앞 이모지에 붙는 글자
+            case 0xFE0E, 0xFE0F, 0x200D, 0x1F3FB, 0x1F3FC, 0x1F3FD, 0x1F3FE, 0x1F3FF -> SIGNAL_NONE;
+            default -> EMOJI.getOrDefault(cp, SIGNAL_UNKNOWN);
+        };
+    }
+
+    private static void words(int signal, String... words) {
+        for (String w : words) LEXICON.put(w, signal);
+    }
+
+    private static void emoji(int signal, int... codePoints) {
+        for (int cp : codePoints) EMOJI.put(cp, signal);
+    }
+}
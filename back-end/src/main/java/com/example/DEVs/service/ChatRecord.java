@@ -0,0 +1,41 @@
+package com.example.DEVs.service;
+
+import lombok.Getter;
+
+/**
+ * 파싱한 채팅 한 건을 담는 재사용 레코드
+ * 작성자/내용은 매번 String 을 만들지 않고 StringBuilder 버퍼에 복사하며,
+ * 중복이 아니어서 저장할 때만 String 으로 만든다.
+ */
+@Getter
+public class ChatRecord {
+
+    private LiveChatSession session;
+    private long idKey;
+    private long contentKey;
+    // 방송 시작 기준 오프셋 (ms)
+    private long publishedAtMs;
+    private final StringBuilder author = new StringBuilder(32);
+    private final StringBuilder text = new StringBuilder(128);
+
+    void set(LiveChatSession session, long idKey, long contentKey, long publishedAtMs) {
+        this.session = session;
+        this.idKey = idKey;
+        this.contentKey = contentKey;
+        this.publishedAtMs = publishedAtMs;
+    }
+
+    void copyFrom(ChatRecord other) {
+        set(other.session, other.idKey, other.contentKey, other.publishedAtMs);
+        author.setLength(0);
+        author.append(other.author);
+        text.setLength(0);
+        text.append(other.text);
+    }
+
+    void clear() {
+        session = null;
+        author.setLength(0);
+        text.setLength(0);
+    }
+}
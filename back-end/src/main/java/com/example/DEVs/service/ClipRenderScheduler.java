@@ -0,0 +1,103 @@
+package com.example.DEVs.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * 애플리케이션 전체에서 공유하는 클립 렌더링 스케줄러
+ * ffmpeg 컷(CPU/디스크)과 Gemini 요약(네트워크 대기)을 별도 레인으로 나눠 각각 동시 실행 수를 제한한다.
+ * 두 레인 모두 비디오 단위로 번갈아 실행한다.
+ */
+@Service
+public class ClipRenderScheduler {
+
+    @Value("${render.ffmpeg.workers:0}")
+    private int ffmpegWorkers;
+
+    @Value("${render.ffmpeg.queue-capacity:200}")
+    private int ffmpegQueueCapacity;
+
+    @Value("${render.summary.workers:0}")
+    private int summaryWorkers;
+
+    // 요약은 파이썬 영상 워커가 처리하므로 워커 수보다 많이 돌려도 풀에서 기다리기만 한다
+    @Value("${python.worker.video.size:2}")
+    private int videoWorkerPoolSize;
+
+    @Value("${render.summary.queue-capacity:200}")
+    private int summaryQueueCapacity;
+
+    private FairTaskLane ffmpegLane;
+    private FairTaskLane summaryLane;
+    // 컷이 끝난 클립을 요약 레인에 넣는 스레드. 요약 레인이 가득 차 기다리더라도 ffmpeg 워커를 붙잡지 않게 따로 둔다
+    private ExecutorService summaryDispatcher;
+
+    @PostConstruct
+    void startLanes() {
+        // 0 이면 코어 절반 (ffmpeg 한 프로세스가 여러 스레드를 쓰므로)
+        int workers = ffmpegWorkers > 0
+                ? ffmpegWorkers
+                : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        ffmpegLane = new FairTaskLane("render-ffmpeg", workers, ffmpegQueueCapacity);
+        summaryLane = new FairTaskLane("render-summary",
+                summaryWorkers > 0 ? summaryWorkers : Math.max(1, videoWorkerPoolSize), summaryQueueCapacity);
+        summaryDispatcher = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "render-summary-dispatch");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public <T> CompletableFuture<T> submitCut(String videoId, Callable<T> task) {
+        return ffmpegLane.submit(videoId, task);
+    }
+
+    /**
+     * ffmpeg 레인이 가득 찼으면 기다리지 않고 null 을 돌려준다.
+     */
+    public <T> CompletableFuture<T> trySubmitCut(String videoId, Callable<T> task) {
+        return ffmpegLane.trySubmit(videoId, task);
+    }
+
+    public <T> CompletableFuture<T> submitSummary(String videoId, Callable<T> task) {
+        return summaryLane.submit(videoId, task);
+    }
+
+    /**
+     * 컷 결과를 받아 요약을 넣는 후속 단계용 executor. (thenComposeAsync 에 넘긴다)
+     */
+    public Executor summaryDispatcher() {
+        return summaryDispatcher;
+    }
+
+    public int ffmpegQueueDepth() {
+        return ffmpegLane.queuedCount();
+    }
+
+    public int ffmpegActive() {
+        return ffmpegLane.activeCount();
+    }
+
+    public int summaryQueueDepth() {
+        return summaryLane.queuedCount();
+    }
+
+    public int summaryActive() {
+        return summaryLane.activeCount();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        ffmpegLane.shutdown();
+        summaryLane.shutdown();
+        summaryDispatcher.shutdownNow();
+    }
+}
@@ -0,0 +1,181 @@
+package com.example.DEVs.service;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+import java.util.stream.Stream;
+
+/**
+ * 클립 요약 결과를 디스크에 남겨 두는 LRU 캐시
+ * key 는 (원본 영상 SHA-256 = VideoContent.contentHash, 시작 ms, 끝 ms) 이고, 같은 원본의 같은 구간이면 파이썬 분석기를 다시 부르지 않는다.
+ *
+ * 요약 한 건은 파일 하나(<key>.txt)로 저장하고, 최근 사용 순서는 index 파일에 남겨 재시작 후에도 유지한다.
+ * 항목 수와 요약 파일 크기 합으로 크기를 제한하며, 넘치면 가장 오래 안 쓴 요약부터 지운다.
+ */
+@Slf4j
+public class ClipSummaryCache {
+
+    private static final String INDEX_FILE = "index";
+    private static final String ENTRY_SUFFIX = ".txt";
+
+    private final Path directory;
+    private final int maxEntries;
+    private final long maxBytes;
+
+    // key -> 요약 파일 크기, 접근 순서 (가장 오래된 것이 앞)
+    private final LinkedHashMap<String, Long> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long totalBytes;
+    private boolean indexDirty;
+
+    public ClipSummaryCache(Path directory, int maxEntries, long maxBytes) throws IOException {
+        this.directory = directory;
+        this.maxEntries = maxEntries;
+        this.maxBytes = maxBytes;
+        Files.createDirectories(directory);
+        load();
+    }
+
+    /**
+     * @return 저장된 요약, 없으면 null
+     */
+    public synchronized String get(String sourceHash, long startMs, long endMs) {
+        String key = key(sourceHash, startMs, endMs);
+        if (entries.get(key) == null) return null;
+
+        try {
+            String summary = Files.readString(entryPath(key), StandardCharsets.UTF_8);
+            indexDirty = true;
+            return summary;
+        } catch (IOException e) {
+            // 파일이 지워졌으면 항목도 버린다
+            log.warn("요약 캐시 읽기 실패, 항목 제거. key={}", key, e);
+            remove(key);
+            return null;
+        }
+    }
+
+    public synchronized void put(String sourceHash, long startMs, long endMs, String summary) {
+        if (summary == null) return;
+        String key = key(sourceHash, startMs, endMs);
+        byte[] bytes = summary.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > maxBytes) return;
+
+        try {
+            Path tmp = directory.resolve(key + ".tmp");
+            Files.write(tmp, bytes);
+            Files.move(tmp, entryPath(key), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.warn("요약 캐시 쓰기 실패. key={}", key, e);
+            return;
+        }
+
+        Long previous = entries.put(key, (long) bytes.length);
+        if (previous != null) totalBytes -= previous;
+        totalBytes += bytes.length;
+        evict();
+        writeIndex();
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized long totalBytes() {
+        return totalBytes;
+    }
+
+    /**
+     * 조회로 바뀐 사용 순서를 index 에 반영한다. (종료 시 호출)
+     */
+    public synchronized void flush() {
+        if (indexDirty) writeIndex();
+    }
+
+    private void evict() {
+        Iterator<Map.Entry<String, Long>> it = entries.entrySet().iterator();
+        while ((entries.size() > maxEntries || totalBytes > maxBytes) && it.hasNext()) {
+            Map.Entry<String, Long> eldest = it.next();
+            it.remove();
+            totalBytes -= eldest.getValue();
+            deleteQuietly(entryPath(eldest.getKey()));
+        }
+    }
+
+    private void remove(String key) {
+        Long bytes = entries.remove(key);
+        if (bytes != null) totalBytes -= bytes;
+        deleteQuietly(entryPath(key));
+        indexDirty = true;
+    }
+
+    // index 는 한 줄에 key 하나, 오래된 것부터. 임시 파일에 쓰고 바꿔치기한다
+    private void writeIndex() {
+        try {
+            Path tmp = directory.resolve(INDEX_FILE + ".tmp");
+            Files.write(tmp, entries.keySet(), StandardCharsets.UTF_8);
+            Files.move(tmp, directory.resolve(INDEX_FILE),
+                    StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            indexDirty = false;
+        } catch (IOException e) {
+            log.warn("요약 캐시 index 쓰기 실패. dir={}", directory, e);
+        }
+    }
+
+    /**
+     * index 순서대로 항목을 올린다. index 에 없는 요약 파일(index 를 쓰기 전에 종료된 경우)은 가장 오래된 것으로 본다.
+     */
+    private void load() throws IOException {
+        Map<String, Long> files = new HashMap<>();
+        try (Stream<Path> list = Files.list(directory)) {
+            list.forEach(path -> {
+                String name = path.getFileName().toString();
+                if (!name.endsWith(ENTRY_SUFFIX)) return;
+                try {
+                    files.put(name.substring(0, name.length() - ENTRY_SUFFIX.length()), Files.size(path));
+                } catch (IOException e) {
+                    log.warn("요약 캐시 파일 크기 확인 실패. path={}", path, e);
+                }
+            });
+        }
+
+        List<String> order = new ArrayList<>();
+        Path index = directory.resolve(INDEX_FILE);
+        if (Files.exists(index)) {
+            for (String key : Files.readAllLines(index, StandardCharsets.UTF_8)) {
+                if (files.containsKey(key)) order.add(key);
+            }
+        }
+        Set<String> indexed = new HashSet<>(order);
+        List<String> unindexed = files.keySet().stream().filter(key -> !indexed.contains(key)).toList();
+
+        for (String key : unindexed) add(key, files.get(key));
+        for (String key : order) add(key, files.get(key));
+        evict();
+        writeIndex();
+        log.info("요약 캐시 로드. dir={}, entries={}, bytes={}", directory, entries.size(), totalBytes);
+    }
+
+    private void add(String key, long bytes) {
+        entries.put(key, bytes);
+        totalBytes += bytes;
+    }
+
+    private Path entryPath(String key) {
+        return directory.resolve(key + ENTRY_SUFFIX);
+    }
+
+    private static String key(String sourceHash, long startMs, long endMs) {
+        return sourceHash + "_" + startMs + "_" + endMs;
+    }
+
+    private static void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("요약 캐시 파일 삭제 실패. path={}", path, e);
+        }
+    }
+}
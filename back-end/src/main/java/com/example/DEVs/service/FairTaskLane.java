@@ -0,0 +1,193 @@
+package com.example.DEVs.service;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 고정 개수 워커가 비디오별 대기열을 라운드로빈으로 돌며 작업을 꺼내는 실행 레인
+ * 한 영상이 작업을 많이 넣어도 다른 영상 작업이 번갈아 실행되고,
+ * 대기 작업이 maxQueued 에 닿으면 submit 이 자리가 날 때까지 기다린다. (trySubmit 은 기다리지 않고 null)
+ * shutdown 하면 아직 시작하지 않은 작업의 future 는 CancellationException 으로 끝난다.
+ */
+public class FairTaskLane {
+
+    private final String name;
+    private final int maxQueued;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    private final Condition notFull = lock.newCondition();
+
+    // 키별 대기 작업, 대기 작업이 있는 키의 순번
+    private final Map<String, ArrayDeque<Task<?>>> queues = new HashMap<>();
+    private final ArrayDeque<String> rotation = new ArrayDeque<>();
+    private int queued;
+    private boolean shutdown;
+
+    private final AtomicInteger active = new AtomicInteger();
+    private final List<Thread> workers = new ArrayList<>();
+
+    public FairTaskLane(String name, int workerCount, int maxQueued) {
+        this.name = name;
+        this.maxQueued = maxQueued;
+
+        for (int i = 0; i < workerCount; i++) {
+            Thread worker = new Thread(this::workLoop, name + "-" + i);
+            worker.setDaemon(true);
+            worker.start();
+            workers.add(worker);
+        }
+    }
+
+    public <T> CompletableFuture<T> submit(String key, Callable<T> task) {
+        return submit(key, task, true);
+    }
+
+    /**
+     * 대기열이 가득 찼으면 기다리지 않고 null 을 돌려준다. (요청 스레드에서 미리 해 두면 좋은 작업용)
+     */
+    public <T> CompletableFuture<T> trySubmit(String key, Callable<T> task) {
+        return submit(key, task, false);
+    }
+
+    private <T> CompletableFuture<T> submit(String key, Callable<T> task, boolean waitForSpace) {
+        Task<T> entry = new Task<>(task);
+        CompletableFuture<T> future = entry.future;
+
+        lock.lock();
+        try {
+            while (queued >= maxQueued && !shutdown) {
+                if (!waitForSpace) return null;
+                notFull.await();
+            }
+            if (shutdown) {
+                future.completeExceptionally(new IllegalStateException(name + " lane is shut down"));
+                return future;
+            }
+
+            ArrayDeque<Task<?>> queue = queues.get(key);
+            if (queue == null) {
+                queue = new ArrayDeque<>();
+                queues.put(key, queue);
+                rotation.addLast(key);
+            }
+            queue.addLast(entry);
+            queued++;
+            notEmpty.signal();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.completeExceptionally(e);
+        } finally {
+            lock.unlock();
+        }
+        return future;
+    }
+
+    private Runnable take() throws InterruptedException {
+        lock.lock();
+        try {
+            while (rotation.isEmpty()) {
+                if (shutdown) return null;
+                notEmpty.await();
+            }
+            String key = rotation.pollFirst();
+            ArrayDeque<Task<?>> queue = queues.get(key);
+            Runnable task = queue.pollFirst();
+            if (queue.isEmpty()) {
+                queues.remove(key);
+            } else {
+                rotation.addLast(key);
+            }
+            queued--;
+            notFull.signal();
+            return task;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void workLoop() {
+        try {
+            Runnable task;
+            while ((task = take()) != null) {
+                active.incrementAndGet();
+                try {
+                    task.run();
+                } finally {
+                    active.decrementAndGet();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public int queuedCount() {
+        lock.lock();
+        try {
+            return queued;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int activeCount() {
+        return active.get();
+    }
+
+    public int workerCount() {
+        return workers.size();
+    }
+
+    /**
+     * 새 작업을 받지 않고, 대기 중인 작업은 실행하지 않고 취소한다.
+     * 실행 중인 작업은 인터럽트한다. (future 를 기다리던 쪽이 멈춰 있지 않게)
+     */
+    public void shutdown() {
+        List<Task<?>> pending = new ArrayList<>();
+        lock.lock();
+        try {
+            shutdown = true;
+            queues.values().forEach(pending::addAll);
+            queues.clear();
+            rotation.clear();
+            queued = 0;
+            notEmpty.signalAll();
+            notFull.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        // future 의 후속 작업이 이 스레드에서 돌 수 있으므로 락 밖에서 끝낸다
+        pending.forEach(task -> task.future.completeExceptionally(
+                new CancellationException(name + " lane is shut down")));
+        workers.forEach(Thread::interrupt);
+    }
+
+    // 대기열에 들어가는 작업. 실행하지 못하고 버려질 때 future 를 끝낼 수 있게 함께 들고 있다
+    private static class Task<T> implements Runnable {
+        private final Callable<T> callable;
+        private final CompletableFuture<T> future = new CompletableFuture<>();
+
+        Task(Callable<T> callable) {
+            this.callable = callable;
+        }
+
+        @Override
+        public void run() {
+            try {
+                future.complete(callable.call());
+            } catch (Throwable e) {
+                future.completeExceptionally(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package com.example.DEVs.service;
+
+import com.example.DEVs.dto.HighlightDataDto;
+import com.example.DEVs.dto.HighlightJobDto;
+import lombok.Getter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * 업로드 한 건에 대한 하이라이트 생성 작업 상태
+ * 진행 상황이 바뀔 때마다 구독 중인 SSE 클라이언트에 알린다.
+ */
+@Getter
+public class HighlightJob implements HighlightProgressListener {
+
+    public enum Status { QUEUED, RUNNING, DONE, FAILED }
+
+    private final String id;
+    private final String videoId;
+    private final int priority;
+    private final long createdAt = System.currentTimeMillis();
+
+    private volatile Status status = Status.QUEUED;
+    private volatile String stage = "UPLOADED";
+    private volatile int clipsTotal;
+    private volatile int clipsCut;
+    private volatile int clipsSummarized;
+    private volatile String error;
+    private volatile List<HighlightDataDto> highlights;
+    private volatile long finishedAt;
+
+    private final List<SseEmitter> emitters = new CopyOnWriteArrayList<>();
+
+    public HighlightJob(String id, String videoId, int priority) {
+        this.id = id;
+        this.videoId = videoId;
+        this.priority = priority;
+    }
+
+    public boolean isFinished() {
+        return status == Status.DONE || status == Status.FAILED;
+    }
+
+    void markRunning() {
+        status = Status.RUNNING;
+        publish("progress");
+    }
+
+    void markDone(List<HighlightDataDto> result) {
+        highlights = result;
+        stage = "DONE";
+        status = Status.DONE;
+        finishedAt = System.currentTimeMillis();
+        publish("done");
+        completeEmitters();
+    }
+
+    void markFailed(String message) {
+        error = message;
+        status = Status.FAILED;
+        finishedAt = System.currentTimeMillis();
+        publish("failed");
+        completeEmitters();
+    }
+
+    @Override
+    public void onStage(String stage) {
+        this.stage = stage;
+        publish("progress");
+    }
+
+    @Override
+    public void onClipCut(int done, int total) {
+        clipsTotal = total;
+        clipsCut = done;
+        publish("progress");
+    }
+
+    @Override
+    public void onClipSummarized(int done, int total) {
+        clipsTotal = total;
+        clipsSummarized = done;
+        publish("progress");
+    }
+
+    public void subscribe(SseEmitter emitter) {
+        emitters.add(emitter);
+        emitter.onCompletion(() -> emitters.remove(emitter));
+        emitter.onTimeout(() -> emitters.remove(emitter));
+
+        // 구독 시점의 상태를 바로 한 번 보내 준다
+        if (isFinished()) {
+            send(emitter, status == Status.DONE ? "done" : "failed");
+            emitter.complete();
+        } else {
+            send(emitter, "progress");
+        }
+    }
+
+    public HighlightJobDto toDto() {
+        return HighlightJobDto.builder()
+                .jobId(id)
+                .videoId(videoId)
+                .status(status.name())
+                .stage(stage)
+                .clipsTotal(clipsTotal)
+                .clipsCut(clipsCut)
+                .clipsSummarized(clipsSummarized)
+                .error(error)
+                .highlights(highlights)
+                .build();
+    }
+
+    private void publish(String event) {
+        for (SseEmitter emitter : emitters) {
+            send(emitter, event);
+        }
+    }
+
+    private void send(SseEmitter emitter, String event) {
+        try {
+            emitter.send(SseEmitter.event().name(event).data(toDto()));
+        } catch (IOException | IllegalStateException e) {
+            emitters.remove(emitter);
+        }
+    }
+
+    private void completeEmitters() {
+        for (SseEmitter emitter : emitters) {
+            emitter.complete();
+        }
+        emitters.clear();
+    }
+}
@@ -0,0 +1,173 @@
+package com.example.DEVs.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 하이라이트 생성 작업 큐
+ * 업로드 요청은 영상만 저장하고 바로 작업 ID를 돌려주며,
+ * 추출/컷/요약은 크기가 제한된 작업 스레드에서 priority 순으로 실행한다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class HighlightJobService {
+
+    // 끝난 작업을 메모리에 남겨 두는 시간
+    private static final long FINISHED_JOB_TTL_MS = 60 * 60_000L;
+
+    private final HighlightService highlightService;
+
+    @Value("${highlight.job.workers:2}")
+    private int workers;
+
+    @Value("${highlight.job.queue-capacity:20}")
+    private int queueCapacity;
+
+    private final Map<String, HighlightJob> jobs = new ConcurrentHashMap<>();
+    // videoId -> 대기 중이거나 실행 중인 작업. 같은 영상은 작업 하나만 돌린다
+    private final Map<String, HighlightJob> activeJobs = new ConcurrentHashMap<>();
+    private final AtomicLong sequence = new AtomicLong();
+
+    private ThreadPoolExecutor executor;
+    // 대기열 자리. PriorityBlockingQueue 는 크기 제한이 없으므로 넣기 전에 자리를 잡고, 실행을 시작하면 돌려준다
+    private Semaphore queueSlots;
+
+    @PostConstruct
+    void startExecutor() {
+        queueSlots = new Semaphore(queueCapacity);
+        executor = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+                new PriorityBlockingQueue<>(),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "highlight-job");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    /**
+     * 영상을 저장하고 하이라이트 작업을 큐에 넣는다.
+     * 같은 영상의 작업이 이미 대기/실행 중이면 영상을 덮어쓰지 않고 그 작업을 돌려준다.
+     *
+     * @throws RejectedExecutionException 대기열이 가득 찬 경우
+     */
+    public HighlightJob submit(MultipartFile videoFile, String videoId, int priority) throws Exception {
+        // 요청이 끝나면 multipart 임시 파일이 사라지므로 저장까지는 요청 안에서 처리
+        return enqueue(videoId, priority, () -> highlightService.storeVideo(videoFile, videoId));
+    }
+
+    /**
+     * 이미 ./videos 에 저장된 영상으로 하이라이트 작업을 큐에 넣는다.
+     * 같은 영상의 작업이 이미 대기/실행 중이면 그 작업을 돌려준다.
+     */
+    public HighlightJob submit(String videoId, int priority) {
+        return enqueue(videoId, priority, () -> { });
+    }
+
+    /**
+     * 해당 영상의 하이라이트 작업이 대기 중이거나 실행 중인지
+     */
+    public boolean isActive(String videoId) {
+        return activeJobs.containsKey(videoId);
+    }
+
+    public Optional<HighlightJob> findActive(String videoId) {
+        return Optional.ofNullable(activeJobs.get(videoId));
+    }
+
+    private <E extends Exception> HighlightJob enqueue(String videoId, int priority, VideoStore<E> store) throws E {
+        evictFinishedJobs();
+
+        HighlightJob job = new HighlightJob(UUID.randomUUID().toString(), videoId, priority);
+        HighlightJob existing = activeJobs.putIfAbsent(videoId, job);
+        if (existing != null) return existing;
+
+        if (!queueSlots.tryAcquire()) {
+            activeJobs.remove(videoId, job);
+            throw new RejectedExecutionException("하이라이트 작업 대기열이 가득 찼습니다. queue=" + queueCapacity);
+        }
+
+        jobs.put(job.getId(), job);
+        boolean queued = false;
+        try {
+            store.store();
+            executor.execute(new JobTask(job, sequence.incrementAndGet()));
+            queued = true;
+        } finally {
+            if (!queued) {
+                queueSlots.release();
+                activeJobs.remove(videoId, job);
+                job.markFailed("작업 등록 실패");
+            }
+        }
+        return job;
+    }
+
+    public Optional<HighlightJob> find(String jobId) {
+        return Optional.ofNullable(jobs.get(jobId));
+    }
+
+    public int queueDepth() {
+        return executor.getQueue().size();
+    }
+
+    private void run(HighlightJob job) {
+        queueSlots.release();
+        job.markRunning();
+        try {
+            job.markDone(highlightService.analyzeVideo(job.getVideoId(), job));
+        } catch (Exception e) {
+            log.error("하이라이트 작업 실패. job={}, videoId={}", job.getId(), job.getVideoId(), e);
+            job.markFailed(e.getMessage());
+        } finally {
+            activeJobs.remove(job.getVideoId(), job);
+        }
+    }
+
+    private void evictFinishedJobs() {
+        long now = System.currentTimeMillis();
+        jobs.values().removeIf(job -> job.isFinished() && now - job.getFinishedAt() > FINISHED_JOB_TTL_MS);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private interface VideoStore<E extends Exception> {
+        void store() throws E;
+    }
+
+    // priority 가 높은 작업 먼저, 같으면 먼저 들어온 작업 먼저
+    private class JobTask implements Runnable, Comparable<JobTask> {
+        private final HighlightJob job;
+        private final long order;
+
+        JobTask(HighlightJob job, long order) {
+            this.job = job;
+            this.order = order;
+        }
+
+        @Override
+        public void run() {
+            HighlightJobService.this.run(job);
+        }
+
+        @Override
+        public int compareTo(JobTask other) {
+            int byPriority = Integer.compare(other.job.getPriority(), job.getPriority());
+            return byPriority != 0 ? byPriority : Long.compare(order, other.order);
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.DEVs.service;
+
+/**
+ * 하이라이트 생성 단계별 진행 상황 콜백
+ */
+public interface HighlightProgressListener {
+
+    HighlightProgressListener NONE = new HighlightProgressListener() {};
+
+    default void onStage(String stage) {}
+
+    default void onClipCut(int done, int total) {}
+
+    default void onClipSummarized(int done, int total) {}
+}
@@ -0,0 +1,27 @@
+package com.example.DEVs.service;
+
+import com.example.DEVs.entity.Sentiment;
+
+/**
+ * 감정 분석 구간 하나의 하이라이트 점수 계산
+ * 구현을 빈으로 교체하면 추출 로직은 그대로 두고 점수식만 바꿀 수 있다.
+ */
+public interface HighlightScorer {
+
+    /**
+     * 하이라이트 후보가 될 수 있는 구간인지
+     */
+    boolean isEligible(Sentiment current);
+
+    /**
+     * @param previous 직전 구간 (첫 구간이면 메시지 0개인 빈 구간)
+     */
+    double score(Sentiment previous, Sentiment current);
+
+    // 직전 구간 대비 메시지 증가율
+    static double increaseRate(Sentiment previous, Sentiment current) {
+        double prevMsg = previous.getTotalMessages();
+        double currMsg = current.getTotalMessages();
+        return prevMsg == 0 ? 0 : (currMsg - prevMsg) / prevMsg;
+    }
+}
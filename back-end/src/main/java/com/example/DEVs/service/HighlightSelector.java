@@ -0,0 +1,116 @@
+package com.example.DEVs.service;
+
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * 시간순으로 들어오는 후보 구간에서 점수 상위 K 개만 남기는 선택기
+ * 간격이 mergeGapMs 이내인 구간은 maxClipMs 까지 하나로 합치고, (mergeGapMs 가 -1 이면 맞닿은 구간도 합치지 않음)
+ * 합친 구간만 크기 K 의 최소 힙에 넣으므로 메모리는 후보 수와 관계없이 O(K) 이다.
+ */
+public class HighlightSelector {
+
+    private final int k;
+    private final long mergeGapMs;
+    private final long maxClipMs;
+
+    private final PriorityQueue<Candidate> topK =
+            new PriorityQueue<>(Comparator.comparingDouble(Candidate::getScore));
+    private Candidate run;
+
+    public HighlightSelector(int k, long mergeGapMs, long maxClipMs) {
+        this.k = k;
+        this.mergeGapMs = mergeGapMs;
+        this.maxClipMs = maxClipMs;
+    }
+
+    /**
+     * 후보는 startMs 오름차순으로 넣어야 한다.
+     */
+    public void offer(Candidate candidate) {
+        if (run != null
+                && candidate.startMs <= run.endMs + mergeGapMs
+                && candidate.endMs - run.startMs <= maxClipMs) {
+            run.merge(candidate);
+            return;
+        }
+        flushRun();
+        run = candidate;
+    }
+
+    private void flushRun() {
+        if (run == null || k <= 0) return;
+        if (topK.size() < k) {
+            topK.add(run);
+        } else if (topK.peek().score < run.score) {
+            topK.poll();
+            topK.add(run);
+        }
+        run = null;
+    }
+
+    /**
+     * 지금까지의 상위 K 구간을 선택기 상태를 바꾸지 않고 돌려준다. (진행 중인 구간 포함)
+     */
+    public List<Candidate> snapshot() {
+        List<Candidate> winners = new ArrayList<>(topK);
+        if (run != null && k > 0) {
+            if (winners.size() < k) {
+                winners.add(run);
+            } else if (topK.peek().score < run.score) {
+                winners.remove(topK.peek());
+                winners.add(run);
+            }
+        }
+        winners.sort(Comparator.comparingLong(Candidate::getStartMs));
+        return winners;
+    }
+
+    /**
+     * 선택된 구간을 시작 시간순으로 돌려준다.
+     */
+    public List<Candidate> finish() {
+        flushRun();
+        List<Candidate> winners = new ArrayList<>(topK);
+        winners.sort(Comparator.comparingLong(Candidate::getStartMs));
+        return winners;
+    }
+
+    /**
+     * 하이라이트 후보 구간
+     * 합쳐진 구간은 점수가 가장 높은 구간의 값을 대표로 가진다.
+     */
+    @Getter
+    public static class Candidate {
+        private final long startMs;
+        private long endMs;
+        private double score;
+        private double positive;
+        private int totalMessages;
+        private double increaseRate;
+
+        public Candidate(long startMs, long endMs, double score,
+                         double positive, int totalMessages, double increaseRate) {
+            this.startMs = startMs;
+            this.endMs = endMs;
+            this.score = score;
+            this.positive = positive;
+            this.totalMessages = totalMessages;
+            this.increaseRate = increaseRate;
+        }
+
+        void merge(Candidate other) {
+            endMs = Math.max(endMs, other.endMs);
+            if (other.score > score) {
+                score = other.score;
+                positive = other.positive;
+                totalMessages = other.totalMessages;
+                increaseRate = other.increaseRate;
+            }
+        }
+    }
+}
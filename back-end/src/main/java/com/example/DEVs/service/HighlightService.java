@@ -3,9 +3,21 @@ package com.example.DEVs.service;
 import com.example.DEVs.dto.HighlightDataDto;
 import com.example.DEVs.entity.Highlight;
 import com.example.DEVs.entity.Sentiment;
+import com.example.DEVs.entity.VideoContent;
 import com.example.DEVs.repository.HighlightRepository;
 import com.example.DEVs.repository.SentimentRepository;
+import com.example.DEVs.repository.VideoContentRepository;
+import com.example.DEVs.util.TimelineFormat;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
@@ -15,12 +27,13 @@ import java.io.InputStreamReader;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
 
-import static java.lang.Math.log;
-
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class HighlightService {
@@ -29,156 +42,419 @@ public class HighlightService {
     private static final String VIDEO_BASE_PATH = "./videos/";
     // 클립 저장 경로
     private static final String CLIP_OUTPUT_PATH = "./videos/highlights/";
+    // ffmpeg 한 번에 자르는 최대 클립 수 (입력마다 파일 핸들과 demuxer 를 하나씩 연다)
+    private static final int MAX_CLIPS_PER_PASS = 16;
+    // ffmpeg 진행 로그는 렌더 스레드에서 읽고 버리는 비용만 드므로 경고 이상만 출력
+    private static final List<String> FFMPEG_QUIET = List.of("-hide_banner", "-nostats", "-loglevel", "warning");
 
     private final HighlightRepository highlightRepository;
     private final SentimentRepository sentimentRepository;
+    private final VideoContentRepository videoContentRepository;
     private final PyAnalyzeService pyAnalyzeService;
+    private final ClipRenderScheduler clipRenderScheduler;
+    private final KeyframeIndexService keyframeIndexService;
+    private final HighlightScorer highlightScorer;
+    private final LiveHighlightDetector liveHighlightDetector;
+    private final MeterRegistry meterRegistry;
+    private final ObjectMapper objectMapper;
+
+    @Value("${cache.timeline.max-points:200000}")
+    private long cacheMaxPoints;
+
+    // 클립 요약 캐시 (원본 해시 + 구간 → 요약), 재시작 후에도 남는다
+    @Value("${cache.summary.dir:./videos/summary-cache}")
+    private String summaryCacheDir;
+
+    @Value("${cache.summary.max-entries:10000}")
+    private int summaryCacheMaxEntries;
+
+    @Value("${cache.summary.max-bytes:67108864}")
+    private long summaryCacheMaxBytes;
+
+    private TimelineCache<HighlightDataDto> timelineCache;
+    private ClipSummaryCache summaryCache;
+
+    private Timer batchCutTimer;
+    private Timer singleCutTimer;
+    private Timer summaryTimer;
+    private Counter summaryCacheHits;
+    private Counter summaryCacheMisses;
+
+    @PostConstruct
+    void createCache() throws IOException {
+        timelineCache = new TimelineCache<>("highlight", cacheMaxPoints, objectMapper);
+        summaryCache = new ClipSummaryCache(Path.of(summaryCacheDir), summaryCacheMaxEntries, summaryCacheMaxBytes);
+
+        batchCutTimer = cutTimer("batch");
+        singleCutTimer = cutTimer("single");
+        summaryTimer = Timer.builder("render.summary")
+                .description("클립 하나 요약 시간")
+                .register(meterRegistry);
+        summaryCacheHits = meterRegistry.counter("render.summary.cache", "result", "hit");
+        summaryCacheMisses = meterRegistry.counter("render.summary.cache", "result", "miss");
+        Gauge.builder("render.summary.cache.entries", summaryCache, ClipSummaryCache::size)
+                .register(meterRegistry);
+        Gauge.builder("render.summary.cache.bytes", summaryCache, ClipSummaryCache::totalBytes)
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    void flushCache() {
+        summaryCache.flush();
+    }
+
+    private Timer cutTimer(String mode) {
+        return Timer.builder("render.ffmpeg.cut")
+                .description("ffmpeg 컷 프로세스 한 번의 실행 시간")
+                .tag("mode", mode)
+                .register(meterRegistry);
+    }
 
     public List<HighlightDataDto> highlightVideo(MultipartFile videoFile, String videoId) throws Exception{
+        storeVideo(videoFile, videoId);
+        return analyzeVideo(videoId, HighlightProgressListener.NONE);
+    }
 
-        if(!highlightRepository.existsByVideoId(videoId)){
-            Path filePath = Path.of(VIDEO_BASE_PATH, videoId + ".mp4");
+    // 업로드된 원본 영상을 ./videos/<videoId>.mp4 로 저장
+    public void storeVideo(MultipartFile videoFile, String videoId) throws IOException {
+        if(highlightRepository.existsByVideoId(videoId)) return;
 
-            if(Files.notExists(filePath)) {
-                Files.createDirectories(Paths.get(VIDEO_BASE_PATH));
-                Files.copy(videoFile.getInputStream(), filePath, StandardCopyOption.REPLACE_EXISTING);
-            }
+        Path filePath = Path.of(VIDEO_BASE_PATH, videoId + ".mp4");
+        if(Files.notExists(filePath)) {
+            Files.createDirectories(Paths.get(VIDEO_BASE_PATH));
+            // 절대 경로 File 로 넘기면 multipart 임시 파일을 복사하지 않고 rename 한다
+            videoFile.transferTo(filePath.toAbsolutePath().toFile());
+            keyframeIndexService.prepare(videoId);
+        }
+    }
+
+    // 저장된 영상으로 하이라이트 추출 → 클립 컷/요약
+    public List<HighlightDataDto> analyzeVideo(String videoId, HighlightProgressListener listener) throws Exception {
+        if(!highlightRepository.existsByVideoId(videoId)){
+            listener.onStage("EXTRACTING");
             extractHighlight(videoId);
-            cutHighlightVideos(videoId);
+            listener.onStage("CUTTING");
+            cutHighlightVideos(videoId, listener);
         }
         return loadHighlightTimeline(videoId);
     }
 
+    /**
+     * 라이브 중에 저장된 감정 구간을 모두 보고 모은 후보가 있으면 그대로 쓰고,
+     * 없으면 감정 스트림을 한 번 훑으며 점수 상위 K 구간만 골라 한 번에 저장한다.
+     */
     public void extractHighlight(String videoId){
-        List<Sentiment> sentimentStream = sentimentRepository.findAllByVideoIdOrderByTimeline(videoId);
+        List<HighlightSelector.Candidate> candidates = liveCandidates(videoId)
+                .filter(list -> !list.isEmpty())
+                .orElseGet(() -> scanSentimentStream(videoId));
+
+        List<Highlight> highlights = candidates.stream()
+                .map(c -> {
+                    Highlight h = new Highlight();
+                    h.setVideoId(videoId);
+                    h.setStartMs(c.getStartMs());
+                    h.setEndMs(c.getEndMs());
+                    h.setPositive(c.getPositive());
+                    h.setTotalMessages(c.getTotalMessages());
+                    h.setIncreaseRate(c.getIncreaseRate());
+                    h.setHighlightScore(c.getScore());
+                    return h;
+                })
+                .toList();
+        highlightRepository.saveAll(highlights);
+        timelineCache.invalidate(videoId);
+    }
+
+    private Optional<List<HighlightSelector.Candidate>> liveCandidates(String videoId) {
+        // 저장된 구간이 없으면 -1 이라 어떤 상태와도 맞지 않고, 상태만 버려진다
+        long firstMs = sentimentRepository.findFirstByVideoIdOrderByTimelineMsAsc(videoId)
+                .map(Sentiment::getTimelineMs).orElse(-1L);
+        long lastMs = sentimentRepository.findFirstByVideoIdOrderByTimelineMsDesc(videoId)
+                .map(Sentiment::getTimelineMs).orElse(-1L);
+        return liveHighlightDetector.takeCandidates(videoId, firstMs, lastMs, sentimentRepository.countByVideoId(videoId));
+    }
+
+    private List<HighlightSelector.Candidate> scanSentimentStream(String videoId) {
+        List<Sentiment> sentimentStream = sentimentRepository.findAllByVideoIdOrderByTimelineMs(videoId);
 
         // 감정 데이터가 0개 또는 1개 이하일 경우 → 하이라이트 생성 불가
         if (sentimentStream.size() < 2) {
             throw new RuntimeException("[Highlight] 감정 분석 데이터가 부족하여 하이라이트를 생성하지 않습니다. videoId=" + videoId); // 하이라이트 추출 중단
         }
 
+        return selectCandidates(sentimentStream, highlightScorer, liveHighlightDetector.newSelector());
+    }
+
+    // 시간순 감정 스트림을 한 번 훑어 selector 로 후보를 고른다
+    public static List<HighlightSelector.Candidate> selectCandidates(List<Sentiment> sentimentStream,
+                                                                    HighlightScorer highlightScorer,
+                                                                    HighlightSelector selector) {
         Sentiment prev = new Sentiment();
-        prev.setTimeline("00:00:00");
+        prev.setTimelineMs(0L);
         prev.setTotalMessages(0);
 
         for (Sentiment s : sentimentStream) {
-
-            double positive = s.getPositive();
-            double negative = s.getNegative();
-            int total_msg = s.getTotalMessages();
-
-            double prevMsg = prev.getTotalMessages();
-            double currMsg = s.getTotalMessages();
-            double increaseRate =
-                    prevMsg == 0 ? 0 : (currMsg - prevMsg) / prevMsg;
-
-            double highLightScore =
-                    (positive * 0.5) + (negative * 0.1) + (log(total_msg + 1) * 0.4);
-
-            if(Double.compare(positive, 100.0) != 0 && currMsg > 5){
-                Highlight h = new Highlight();
-                h.setVideoId(videoId);
-
-                h.setStartTime(prev.getTimeline());   // 00:05:00
-                h.setEndTime(s.getTimeline());     // 00:06:00
-
-                h.setPositive(s.getPositive());
-                h.setTotalMessages(s.getTotalMessages());
-                h.setIncreaseRate(Math.round(increaseRate * 100) / 100.0);
-                h.setHighlightScore(highLightScore);
-
-                highlightRepository.save(h);
+            if (highlightScorer.isEligible(s)) {
+                double increaseRate = HighlightScorer.increaseRate(prev, s);
+                selector.offer(new HighlightSelector.Candidate(
+                        prev.getTimelineMs(),
+                        s.getTimelineMs(),
+                        highlightScorer.score(prev, s),
+                        s.getPositive(),
+                        s.getTotalMessages(),
+                        Math.round(increaseRate * 100) / 100.0));
             }
             prev = s;
         }
+
+        return selector.finish();
     }
 
     public void cutHighlightVideos(String videoId) throws Exception {
+        cutHighlightVideos(videoId, HighlightProgressListener.NONE);
+    }
 
-        highlightRepository.deleteNotHighlightByVideoId(videoId);
-        List<Highlight> highlights = highlightRepository.findAllByVideoIdOrderByStartTime(videoId);
+    public void cutHighlightVideos(String videoId, HighlightProgressListener listener) throws Exception {
+
+        List<Highlight> highlights = highlightRepository.findAllByVideoIdOrderByStartMs(videoId);
 
         String inputVideoPath = VIDEO_BASE_PATH + videoId + ".mp4";
         String OutputFolder = CLIP_OUTPUT_PATH + videoId + "/";
 
         Files.createDirectories(Paths.get(OutputFolder));
+        String sourceHash = sourceHash(videoId, Path.of(inputVideoPath));
+        // -c copy 컷은 키프레임에서만 깔끔하게 시작하므로 시작을 직전 키프레임으로 맞춘다
+        KeyframeIndex keyframes = keyframeIndexService.get(videoId);
+
+        int total = highlights.size();
+        AtomicInteger cut = new AtomicInteger();
+        AtomicInteger summarized = new AtomicInteger();
 
-        ExecutorService executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+        List<ClipCut> pending = new ArrayList<>();
         for (Highlight h : highlights) {
-            executor.submit(() -> {
-                String start = h.getStartTime(); // "HH:mm:ss"
-                String end = h.getEndTime();     // "HH:mm:ss"
-
-                String outputFileName = videoId + "_" + start.replace(":", "") + "-" +
-                        end.replace(":", "") + ".mp4";
-
-                String outputPath = OutputFolder + outputFileName;
-
-                try {
-                    if (!highlightRepository.existsByVideoUrl(outputPath)) {
-                        runFfmpegCut(inputVideoPath, start, end, outputPath);
-                        String highlightPath = System.getProperty("user.dir") + outputPath.substring(1);
-                        String summary = pyAnalyzeService.runHighlightVideo(highlightPath);
-                        h.setSummary(summary);
-                    }
-                } catch (Exception e) {
-                    throw new RuntimeException(e);
-                }
-                h.setVideoUrl(outputPath.substring(1));
+            String outputFileName = videoId + "_" + TimelineFormat.format(h.getStartMs()).replace(":", "") + "-" +
+                    TimelineFormat.format(h.getEndMs()).replace(":", "") + ".mp4";
 
+            String outputPath = OutputFolder + outputFileName;
+            h.setVideoUrl(outputPath.substring(1));
+
+            if (highlightRepository.existsByVideoUrl(outputPath)) {
                 highlightRepository.save(h);
+                continue;
+            }
+            long startMs = keyframes == null ? h.getStartMs() : keyframes.floor(h.getStartMs());
+            pending.add(new ClipCut(h, outputPath, startMs));
+        }
+
+        // 컷은 ffmpeg 레인에서 여러 클립을 한 번에, 요약은 summary 레인에서 클립별로 실행
+        List<CompletableFuture<Void>> clips = new ArrayList<>();
+        for (int from = 0; from < pending.size(); from += MAX_CLIPS_PER_PASS) {
+            List<ClipCut> batch = pending.subList(from, Math.min(pending.size(), from + MAX_CLIPS_PER_PASS));
+
+            CompletableFuture<List<ClipCut>> batchCut = clipRenderScheduler.submitCut(videoId, () -> {
+                List<ClipCut> done = cutClips(inputVideoPath, batch);
+                done.forEach(c -> listener.onClipCut(cut.incrementAndGet(), total));
+                return done;
             });
+
+            for (ClipCut clip : batch) {
+                // 요약 레인이 가득 차면 submit 이 기다리므로 ffmpeg 워커가 아닌 dispatcher 에서 넣는다
+                CompletableFuture<Void> future = batchCut
+                        .thenComposeAsync(done -> done.contains(clip)
+                                ? summarize(videoId, sourceHash, clip)
+                                : CompletableFuture.<String>failedFuture(
+                                        new RuntimeException("클립 컷 실패: " + clip.output)),
+                                clipRenderScheduler.summaryDispatcher())
+                        .thenAccept(summary -> {
+                            clip.highlight.setSummary(summary);
+                            listener.onClipSummarized(summarized.incrementAndGet(), total);
+                            highlightRepository.save(clip.highlight);
+                        })
+                        .exceptionally(e -> {
+                            // 실패한 클립만 건너뛰고 나머지는 계속 진행
+                            log.warn("클립 처리 실패, 건너뜀. output={}", clip.output, e);
+                            return null;
+                        });
+                clips.add(future);
+            }
+        }
+        try {
+            CompletableFuture.allOf(clips.toArray(CompletableFuture[]::new)).get(1, TimeUnit.HOURS);
+        } finally {
+            timelineCache.invalidate(videoId);
+        }
+    }
+
+    /**
+     * 요약 캐시 key 로 쓰는 원본 해시. 업로드 때 계산해 둔 VideoContent.contentHash 만 쓰고 파일은 다시 읽지 않는다.
+     * 업로드 기록이 없거나 파일이 기록과 다르면 null (요약 캐시를 쓰지 않는다)
+     */
+    private String sourceHash(String videoId, Path video) throws IOException {
+        long size = Files.size(video);
+        return videoContentRepository.findFirstByVideoId(videoId)
+                .filter(content -> content.getSizeBytes() == size)
+                .map(VideoContent::getContentHash)
+                .orElse(null);
+    }
+
+    /**
+     * 같은 원본의 같은 구간을 요약한 적이 있으면 파이썬을 부르지 않고 캐시된 요약을 쓴다.
+     */
+    private CompletableFuture<String> summarize(String videoId, String sourceHash, ClipCut clip) {
+        long startMs = clip.highlight.getStartMs();
+        long endMs = clip.highlight.getEndMs();
+        String cached = sourceHash == null ? null : summaryCache.get(sourceHash, startMs, endMs);
+        if (cached != null) {
+            summaryCacheHits.increment();
+            return CompletableFuture.completedFuture(cached);
         }
-        executor.shutdown();
-        executor.awaitTermination(1, TimeUnit.HOURS);
+
+        summaryCacheMisses.increment();
+        return clipRenderScheduler.submitSummary(videoId, () -> {
+            String summary = summaryTimer.recordCallable(() -> pyAnalyzeService.runHighlightVideo(
+                    System.getProperty("user.dir") + clip.output.substring(1)));
+            if (sourceHash != null) summaryCache.put(sourceHash, startMs, endMs, summary);
+            return summary;
+        });
     }
 
-    private void runFfmpegCut(String input, String start, String end, String output)
+    /**
+     * 여러 클립을 ffmpeg 한 번으로 자른다.
+     * 클립마다 -ss 를 입력 옵션으로 준 입력을 따로 열어 컷 지점으로 바로 seek 하므로
+     * 원본을 처음부터 읽지 않는다. 한 번에 실패하면 클립별로 다시 잘라 성공한 것만 돌려준다.
+     */
+    private List<ClipCut> cutClips(String input, List<ClipCut> clips) throws InterruptedException {
+        List<String> command = new ArrayList<>(List.of("ffmpeg", "-y"));
+        command.addAll(FFMPEG_QUIET);
+        for (ClipCut clip : clips) {
+            command.addAll(List.of(
+                    "-ss", toFfmpegSeconds(clip.startMs),
+                    "-t", toFfmpegSeconds(clip.durationMs()),
+                    "-i", input));
+        }
+        for (int i = 0; i < clips.size(); i++) {
+            command.addAll(List.of(
+                    "-map", String.valueOf(i),
+                    "-c", "copy",
+                    "-avoid_negative_ts", "make_zero",
+                    clips.get(i).output));
+        }
+
+        try {
+            runFfmpeg(command, batchCutTimer);
+            return clips;
+        } catch (IOException | RuntimeException e) {
+            log.warn("ffmpeg 일괄 컷 실패, 클립별로 다시 시도: {}", e.getMessage());
+        }
+
+        List<ClipCut> done = new ArrayList<>();
+        for (ClipCut clip : clips) {
+            try {
+                runFfmpegCut(input, clip.startMs, clip.durationMs(), clip.output);
+                done.add(clip);
+            } catch (IOException | RuntimeException e) {
+                log.warn("ffmpeg 컷 실패. output={}", clip.output, e);
+            }
+        }
+        return done;
+    }
+
+    private void runFfmpegCut(String input, long startMs, long durationMs, String output)
             throws IOException, InterruptedException {
 
-        ProcessBuilder pb = new ProcessBuilder(
-                "ffmpeg",
+        List<String> command = new ArrayList<>(List.of("ffmpeg", "-y"));
+        command.addAll(FFMPEG_QUIET);
+        command.addAll(List.of(
+                "-ss", toFfmpegSeconds(startMs),
+                "-t", toFfmpegSeconds(durationMs),
                 "-i", input,
-                "-ss", start,
-                "-to", end,
                 "-c", "copy",
+                "-avoid_negative_ts", "make_zero",
                 output
-        );
+        ));
+        runFfmpeg(command, singleCutTimer);
+    }
+
+    private void runFfmpeg(List<String> command, Timer timer) throws IOException, InterruptedException {
+
+        ProcessBuilder pb = new ProcessBuilder(command);
 
         pb.redirectErrorStream(true);
+        Timer.Sample sample = Timer.start(meterRegistry);
         Process process = pb.start();
 
-        // ffmpeg 로그 읽기 (원할 경우)
+        // ffmpeg 출력은 debug 로만 남기고, 실패 시 마지막 줄을 예외에 붙인다
+        String lastLine = null;
         try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream()))) {
             String line;
             while ((line = reader.readLine()) != null) {
-                System.out.println("[FFMPEG] " + line);
+                log.debug("[ffmpeg] {}", line);
+                lastLine = line;
             }
         }
 
         int exitCode = process.waitFor();
+        sample.stop(timer);
         if (exitCode != 0) {
-            throw new RuntimeException("FFmpeg process failed. code=" + exitCode);
+            throw new RuntimeException("FFmpeg process failed. code=" + exitCode + ", last=" + lastLine);
+        }
+    }
+
+    // ms → ffmpeg 시간 인자 ("123.045" 초), 로케일 영향을 받지 않게 직접 만든다
+    private static String toFfmpegSeconds(long ms) {
+        long millis = ms % 1000;
+        return ms / 1000 + "." + (millis < 100 ? (millis < 10 ? "00" : "0") : "") + millis;
+    }
+
+    // 컷 대상 클립 한 개
+    private static class ClipCut {
+        private final Highlight highlight;
+        private final String output;
+        // 키프레임에 맞춘 실제 컷 시작 (하이라이트 시작 이하)
+        private final long startMs;
+
+        ClipCut(Highlight highlight, String output, long startMs) {
+            this.highlight = highlight;
+            this.output = output;
+            this.startMs = startMs;
+        }
+
+        long durationMs() {
+            return Math.max(1000, highlight.getEndMs() - startMs);
         }
     }
 
     public List<HighlightDataDto> loadHighlightTimeline(String videoId) {
+        return highlightTimeline(videoId).getValue();
+    }
+
+    // ETag 와 함께 캐시된 하이라이트 목록
+    public TimelineCache.Entry<HighlightDataDto> highlightTimeline(String videoId) {
+        return timelineCache.get(videoId, () -> readHighlightTimeline(videoId));
+    }
+
+    private List<HighlightDataDto> readHighlightTimeline(String videoId) {
 
         List<Highlight> highlights =
-                highlightRepository.findAllByVideoIdOrderByStartTime(videoId);
+                highlightRepository.findAllByVideoIdOrderByStartMs(videoId);
 
         return highlights.stream()
-                .map(h -> HighlightDataDto.builder()
-                        .id(h.getId())
-                        .startTime(h.getStartTime())    // ISO-8601
-                        .endTime(h.getEndTime())
-                        .positiveRate(h.getPositive())
-                        .viewerIncrease(h.getIncreaseRate())
-                        .summary(h.getSummary())
-                        .videoUrl("http://localhost:8080" + h.getVideoUrl())
-                        .build()
-                )
+                .map(HighlightService::toDto)
                 .toList();
     }
 
+    static HighlightDataDto toDto(Highlight h) {
+        return HighlightDataDto.builder()
+                .id(h.getId())
+                .startTime(TimelineFormat.format(h.getStartMs()))
+                .endTime(TimelineFormat.format(h.getEndMs()))
+                .startMs(h.getStartMs())
+                .endMs(h.getEndMs())
+                .positiveRate(h.getPositive())
+                .viewerIncrease(h.getIncreaseRate())
+                .summary(h.getSummary())
+                .videoUrl("http://localhost:8080" + h.getVideoUrl())
+                .build();
+    }
+
 }
@@ -0,0 +1,95 @@
+package com.example.DEVs.service;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+
+/**
+ * 영상 하나의 키프레임 시각 목록 (ms, 오름차순)
+ * -c copy 컷은 키프레임에서만 깔끔하게 시작할 수 있으므로 컷 시작을 직전 키프레임으로 맞추는 데 쓴다.
+ *
+ * 파일 형식: int magic, int count, int[count] 키프레임 ms (영상 옆 <videoId>.keyframes)
+ */
+public class KeyframeIndex {
+
+    private static final int MAGIC = 0x4B464931; // "KFI1"
+
+    private final int[] keyframesMs;
+
+    public KeyframeIndex(int[] keyframesMs) {
+        this.keyframesMs = keyframesMs;
+    }
+
+    /**
+     * ffprobe -show_entries packet=pts_time,flags -of csv=p=0 출력에서 키프레임 패킷만 모은다.
+     * 한 줄은 "12.345000,K__" 형태이며 pts 가 N/A 인 패킷은 건너뛴다.
+     */
+    public static KeyframeIndex fromFfprobe(BufferedReader reader) throws IOException {
+        int[] times = new int[1024];
+        int count = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            int comma = line.indexOf(',');
+            if (comma <= 0 || comma + 1 >= line.length() || line.charAt(comma + 1) != 'K') continue;
+            double seconds;
+            try {
+                seconds = Double.parseDouble(line.substring(0, comma));
+            } catch (NumberFormatException e) {
+                continue;
+            }
+            if (count == times.length) times = Arrays.copyOf(times, count * 2);
+            times[count++] = (int) Math.round(seconds * 1000);
+        }
+
+        // 패킷은 디코드 순서로 나오므로 정렬하고 같은 시각은 하나로
+        int[] sorted = Arrays.copyOf(times, count);
+        Arrays.sort(sorted);
+        int distinct = 0;
+        for (int i = 0; i < sorted.length; i++) {
+            if (i == 0 || sorted[i] != sorted[distinct - 1]) sorted[distinct++] = sorted[i];
+        }
+        return new KeyframeIndex(Arrays.copyOf(sorted, distinct));
+    }
+
+    public static KeyframeIndex read(Path path) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+            if (in.readInt() != MAGIC) {
+                throw new IOException("키프레임 인덱스 형식 오류. path=" + path);
+            }
+            int[] times = new int[in.readInt()];
+            for (int i = 0; i < times.length; i++) {
+                times[i] = in.readInt();
+            }
+            return new KeyframeIndex(times);
+        }
+    }
+
+    // 임시 파일에 쓰고 바꿔치기 (읽는 쪽이 반쯤 쓴 파일을 보지 않게)
+    public void write(Path path) throws IOException {
+        Path tmp = path.resolveSibling(path.getFileName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(keyframesMs.length);
+            for (int ms : keyframesMs) {
+                out.writeInt(ms);
+            }
+        }
+        Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * ms 이하인 마지막 키프레임 시각. 키프레임이 없거나 모두 ms 뒤라면 ms 그대로
+     */
+    public long floor(long ms) {
+        int i = Arrays.binarySearch(keyframesMs, (int) Math.min(ms, Integer.MAX_VALUE));
+        if (i >= 0) return keyframesMs[i];
+        int before = -i - 2;
+        return before >= 0 ? keyframesMs[before] : ms;
+    }
+
+    public int size() {
+        return keyframesMs.length;
+    }
+}
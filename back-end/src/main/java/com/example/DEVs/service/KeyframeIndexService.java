@@ -0,0 +1,152 @@
+package com.example.DEVs.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * 원본 영상의 키프레임 인덱스를 만들고 읽는다.
+ * 업로드가 끝나면 ffmpeg 레인에 ffprobe 를 넣어 영상 옆에 <videoId>.keyframes 로 저장하고,
+ * 컷할 때는 그 파일만 읽는다. 영상이 인덱스보다 새로우면 다시 만든다.
+ * 업로드 때 레인이 가득 차 있으면 기다리지 않고 첫 컷에서 만든다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class KeyframeIndexService {
+
+    // 원본 영상 저장 경로
+    private static final String VIDEO_BASE_PATH = "./videos/";
+
+    private final ClipRenderScheduler clipRenderScheduler;
+    private final MeterRegistry meterRegistry;
+
+    // 같은 영상의 ffprobe 를 두 번 돌리지 않는다
+    private final Map<String, CompletableFuture<KeyframeIndex>> building = new ConcurrentHashMap<>();
+
+    private Timer probeTimer;
+
+    @PostConstruct
+    void registerMeters() {
+        probeTimer = Timer.builder("render.ffprobe.keyframes")
+                .description("영상 하나의 키프레임 인덱스를 만드는 ffprobe 실행 시간")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 업로드 직후 호출. 인덱스를 미리 만들어 두고 기다리지 않는다.
+     * ffmpeg 레인이 가득 차 있으면 요청 스레드를 막지 않도록 넣지 않고, 첫 컷(get)에서 만든다.
+     */
+    public void prepare(String videoId) {
+        load(videoId, false).exceptionally(e -> {
+            if (e instanceof RejectedExecutionException) {
+                log.info("ffmpeg 레인이 가득 차 키프레임 인덱스는 첫 컷에서 생성. videoId={}", videoId);
+            } else {
+                log.warn("키프레임 인덱스 생성 실패. videoId={}", videoId, e);
+            }
+            return null;
+        });
+    }
+
+    /**
+     * 키프레임 인덱스. 만들 수 없으면 null (컷 시작을 맞추지 않고 자른다)
+     */
+    public KeyframeIndex get(String videoId) {
+        try {
+            try {
+                return load(videoId, true).get();
+            } catch (ExecutionException e) {
+                // 같은 때 들어온 prepare 가 레인이 가득 차 넣지 못했으면 기다려서 다시 넣는다
+                if (!(e.getCause() instanceof RejectedExecutionException)) throw e;
+                return load(videoId, true).get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (Exception e) {
+            log.warn("키프레임 인덱스 없이 컷. videoId={}", videoId, e);
+            return null;
+        }
+    }
+
+    private CompletableFuture<KeyframeIndex> load(String videoId, boolean waitForLane) {
+        Path video = Path.of(VIDEO_BASE_PATH, videoId + ".mp4");
+        Path indexPath = Path.of(VIDEO_BASE_PATH, videoId + ".keyframes");
+
+        KeyframeIndex stored = readIfFresh(video, indexPath);
+        if (stored != null) return CompletableFuture.completedFuture(stored);
+
+        CompletableFuture<KeyframeIndex> created = new CompletableFuture<>();
+        CompletableFuture<KeyframeIndex> existing = building.putIfAbsent(videoId, created);
+        if (existing != null) return existing;
+
+        CompletableFuture<KeyframeIndex> probe = waitForLane
+                ? clipRenderScheduler.submitCut(videoId, () -> build(video, indexPath))
+                : clipRenderScheduler.trySubmitCut(videoId, () -> build(video, indexPath));
+        if (probe == null) {
+            building.remove(videoId, created);
+            created.completeExceptionally(new RejectedExecutionException("ffmpeg lane is full"));
+            return created;
+        }
+        probe.whenComplete((index, e) -> {
+            building.remove(videoId, created);
+            if (e != null) created.completeExceptionally(e);
+            else created.complete(index);
+        });
+        return created;
+    }
+
+    private KeyframeIndex readIfFresh(Path video, Path indexPath) {
+        try {
+            if (Files.notExists(indexPath)
+                    || Files.getLastModifiedTime(indexPath).compareTo(Files.getLastModifiedTime(video)) < 0) {
+                return null;
+            }
+            return KeyframeIndex.read(indexPath);
+        } catch (IOException e) {
+            log.warn("키프레임 인덱스 읽기 실패, 다시 생성. path={}", indexPath, e);
+            return null;
+        }
+    }
+
+    // 영상 스트림의 패킷을 모두 demux 해 키프레임 플래그를 본다. 디코딩은 하지 않으므로 비용은 파일을 한 번 읽는 정도
+    // (-skip_frame nokey 는 프레임 디코딩에만 적용돼 패킷 단위 조회를 줄이지 못하고, 프레임 조회로 바꾸면 키프레임을 디코딩하게 된다)
+    private KeyframeIndex build(Path video, Path indexPath) throws Exception {
+        List<String> command = List.of("ffprobe", "-v", "error",
+                "-select_streams", "v:0",
+                "-show_entries", "packet=pts_time,flags",
+                "-of", "csv=p=0",
+                video.toString());
+
+        return probeTimer.recordCallable(() -> {
+            Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+            KeyframeIndex index;
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream()))) {
+                index = KeyframeIndex.fromFfprobe(reader);
+            }
+
+            int exitCode = process.waitFor();
+            if (exitCode != 0) {
+                throw new RuntimeException("ffprobe process failed. code=" + exitCode + ", video=" + video);
+            }
+            index.write(indexPath);
+            log.info("키프레임 인덱스 생성. video={}, keyframes={}", video, index.size());
+            return index;
+        });
+    }
+}
@@ -0,0 +1,142 @@
+package com.example.DEVs.service;
+
+import com.example.DEVs.util.IsoTimestamp;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+import java.util.function.Consumer;
+
+/**
+ * liveChat/messages 응답을 트리로 만들지 않고 토큰 단위로 읽는 파서
+ * 필요한 필드(id, publishedAt, displayMessage, displayName)만 재사용 레코드 하나에 채워 sink 로 넘기고,
+ * 나머지 필드는 건너뛴다. 중복 판정용 key 도 여기서 계산해 수집 스레드의 일을 줄인다.
+ */
+public final class LiveChatMessageParser {
+
+    private LiveChatMessageParser() {
+    }
+
+    /**
+     * @param sink 메시지마다 호출된다. 넘긴 레코드는 다음 메시지에서 재사용된다.
+     * @return 페이지 정보 (itemCount, nextPageToken, pollingIntervalMillis, offline)
+     */
+    public static LiveChatPage parse(JsonFactory jsonFactory, String json, LiveChatSession session,
+                                     Consumer<ChatRecord> sink) throws IOException {
+        long liveStartMillis = session.getLiveStartTime().toEpochMilli();
+        String nextPageToken = session.getPageToken();
+        long pollingIntervalMillis = 0;
+        boolean offline = false;
+        int itemCount = 0;
+
+        Scratch scratch = new Scratch();
+        try (JsonParser parser = jsonFactory.createParser(json)) {
+            expect(parser.nextToken(), JsonToken.START_OBJECT);
+
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                switch (field) {
+                    case "nextPageToken" -> nextPageToken = parser.getText();
+                    case "pollingIntervalMillis" -> pollingIntervalMillis = parser.getValueAsLong(0);
+                    case "offlineAt" -> offline = value != JsonToken.VALUE_NULL;
+                    case "items" -> {
+                        expect(value, JsonToken.START_ARRAY);
+                        while (parser.nextToken() == JsonToken.START_OBJECT) {
+                            readItem(parser, scratch);
+                            itemCount++;
+
+                            ChatRecord record = scratch.record;
+                            long publishedAt = IsoTimestamp.parseEpochMillis(scratch.publishedAt);
+                            record.set(session,
+                                    scratch.hasId ? ChatDedupeWindow.idKey(scratch.id) : 0L,
+                                    ChatDedupeWindow.contentKey(record.getAuthor(), record.getText()),
+                                    publishedAt - liveStartMillis);
+                            sink.accept(record);
+                        }
+                    }
+                    default -> parser.skipChildren();
+                }
+            }
+        }
+        return new LiveChatPage(itemCount, nextPageToken, pollingIntervalMillis, offline);
+    }
+
+    private static void readItem(JsonParser parser, Scratch scratch) throws IOException {
+        scratch.reset();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            switch (field) {
+                case "id" -> {
+                    scratch.hasId = value == JsonToken.VALUE_STRING;
+                    if (scratch.hasId) copyText(parser, scratch.id);
+                }
+                case "snippet" -> readSnippet(parser, value, scratch);
+                case "authorDetails" -> readAuthorDetails(parser, value, scratch);
+                default -> parser.skipChildren();
+            }
+        }
+    }
+
+    private static void readSnippet(JsonParser parser, JsonToken start, Scratch scratch) throws IOException {
+        if (start != JsonToken.START_OBJECT) {
+            parser.skipChildren();
+            return;
+        }
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            parser.nextToken();
+            switch (field) {
+                case "publishedAt" -> copyText(parser, scratch.publishedAt);
+                case "displayMessage" -> copyText(parser, scratch.record.getText());
+                default -> parser.skipChildren();
+            }
+        }
+    }
+
+    private static void readAuthorDetails(JsonParser parser, JsonToken start, Scratch scratch) throws IOException {
+        if (start != JsonToken.START_OBJECT) {
+            parser.skipChildren();
+            return;
+        }
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            parser.nextToken();
+            if (field.equals("displayName")) {
+                copyText(parser, scratch.record.getAuthor());
+            } else {
+                parser.skipChildren();
+            }
+        }
+    }
+
+    // 토큰 문자 배열을 String 없이 그대로 버퍼에 복사
+    private static void copyText(JsonParser parser, StringBuilder target) throws IOException {
+        target.setLength(0);
+        if (parser.currentToken() == JsonToken.VALUE_NULL) return;
+        target.append(parser.getTextCharacters(), parser.getTextOffset(), parser.getTextLength());
+    }
+
+    private static void expect(JsonToken actual, JsonToken expected) throws IOException {
+        if (actual != expected) {
+            throw new IOException("liveChat 응답 형식 오류. expected=" + expected + ", actual=" + actual);
+        }
+    }
+
+    // 페이지 하나를 읽는 동안 재사용하는 버퍼
+    private static class Scratch {
+        private final ChatRecord record = new ChatRecord();
+        private final StringBuilder id = new StringBuilder(64);
+        private final StringBuilder publishedAt = new StringBuilder(32);
+        private boolean hasId;
+
+        void reset() {
+            record.clear();
+            id.setLength(0);
+            publishedAt.setLength(0);
+            hasId = false;
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.DEVs.service;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * liveChat/messages 한 페이지 응답
+ * 채팅 자체는 파싱하면서 바로 ChatIngestPipeline 으로 넘어가고, 여기에는 폴링에 필요한 정보만 남는다.
+ */
+@Getter
+@RequiredArgsConstructor
+public class LiveChatPage {
+    private final int itemCount;
+    private final String nextPageToken;
+    private final long pollingIntervalMillis;
+    // 방송 종료 여부 (offlineAt)
+    private final boolean offline;
+}
@@ -0,0 +1,144 @@
+package com.example.DEVs.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.*;
+
+/**
+ * 여러 라이브 방송의 채팅을 공유 스케줄러 위에서 계속 수집한다.
+ * 요청 스레드를 붙잡지 않고 스트림마다 가벼운 폴링 작업만 예약한다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class LiveChatScheduler {
+
+    private static final int POLLER_THREADS = Math.max(2, Runtime.getRuntime().availableProcessors());
+
+    // YouTube 가 pollingIntervalMillis 를 주지 않을 때의 기본값
+    private static final long DEFAULT_POLL_INTERVAL_MS = 5_000L;
+    private static final long MAX_POLL_INTERVAL_MS = 20_000L;
+    private static final long MAX_BACKOFF_MS = 60_000L;
+    // 한 번 폴링에 이 정도 채팅이 쌓이도록 간격을 조절 (페이지 최대치보다 작게)
+    private static final double TARGET_MESSAGES_PER_POLL = 50.0;
+    private static final double RATE_SMOOTHING = 0.3;
+    // 일정 시간 요청이 없으면 세션 종료
+    private static final long SESSION_IDLE_TIMEOUT_MS = 5 * 60_000L;
+
+    private final YouTubeService youTubeService;
+
+    private final LiveSessionRegistry sessionRegistry;
+
+    private final ScheduledExecutorService poller =
+            Executors.newScheduledThreadPool(POLLER_THREADS, daemonThreads("live-chat-poller"));
+
+    /**
+     * 비디오의 수집 세션을 시작한다. 이미 수집 중이면 기존 세션을 돌려준다.
+     *
+     * @return 라이브 중이 아니면 null
+     */
+    public LiveChatSession start(String videoId) {
+        LiveChatSession session = sessionRegistry.find(videoId);
+        if (session == null) {
+            LiveChatSession opened = youTubeService.openSession(videoId);
+            if (opened == null) return null;
+
+            session = sessionRegistry.registerIfAbsent(opened);
+            if (session == null) {
+                session = opened;
+                session.setPollDelayMillis(DEFAULT_POLL_INTERVAL_MS);
+                schedulePoll(session, 0);
+            }
+        }
+        session.touch();
+        return session;
+    }
+
+    public void stop(String videoId) {
+        LiveChatSession session = sessionRegistry.remove(videoId);
+        if (session != null && session.getPollTask() != null) {
+            session.getPollTask().cancel(false);
+        }
+    }
+
+    public int activeSessionCount() {
+        return sessionRegistry.size();
+    }
+
+    private void poll(LiveChatSession session) {
+        if (!sessionRegistry.isCurrent(session)) return;
+
+        if (System.currentTimeMillis() - session.getLastAccessMillis() > SESSION_IDLE_TIMEOUT_MS) {
+            stop(session.getVideoId());
+            return;
+        }
+
+        long polledAt = System.currentTimeMillis();
+        long delay;
+        try {
+            LiveChatPage page = youTubeService.fetchLiveChatPage(session);
+            session.setPageToken(page.getNextPageToken());
+
+            if (page.isOffline()) {
+                log.info("방송 종료, 수집 중단. videoId={}", session.getVideoId());
+                stop(session.getVideoId());
+                return;
+            }
+            // 요청 시각 이전 채팅은 이 응답까지로 모두 받았다
+            session.advanceIngestWatermark(polledAt);
+            delay = nextPollDelay(session, page);
+
+        } catch (Exception e) {
+            log.warn("라이브 채팅 폴링 실패. videoId={}", session.getVideoId(), e);
+            session.recordPollError();
+            delay = Math.min(session.getPollDelayMillis() * 2, MAX_BACKOFF_MS);
+        }
+
+        session.setPollDelayMillis(delay);
+        // 요청에 걸린 시간만큼 빼서 주기를 유지
+        schedulePoll(session, Math.max(0, delay - (System.currentTimeMillis() - polledAt)));
+    }
+
+    private void schedulePoll(LiveChatSession session, long delayMillis) {
+        if (!sessionRegistry.isCurrent(session)) return;
+        session.setPollTask(poller.schedule(() -> poll(session), delayMillis, TimeUnit.MILLISECONDS));
+    }
+
+    /**
+     * 서버가 준 pollingIntervalMillis 보다 빠르게는 폴링하지 않고,
+     * 채팅이 적은 방송은 관측된 채팅 속도에 맞춰 간격을 늘린다.
+     */
+    private long nextPollDelay(LiveChatSession session, LiveChatPage page) {
+        long serverInterval = page.getPollingIntervalMillis() > 0
+                ? page.getPollingIntervalMillis()
+                : DEFAULT_POLL_INTERVAL_MS;
+
+        double elapsedSec = Math.max(session.getPollDelayMillis(), 1L) / 1000.0;
+        double observedRate = page.getItemCount() / elapsedSec;
+        double rate = session.getMessageRate() == 0
+                ? observedRate
+                : RATE_SMOOTHING * observedRate + (1 - RATE_SMOOTHING) * session.getMessageRate();
+        session.setMessageRate(rate);
+
+        long wanted = rate <= 0
+                ? MAX_POLL_INTERVAL_MS
+                : (long) (TARGET_MESSAGES_PER_POLL / rate * 1000);
+        return Math.max(serverInterval, Math.min(wanted, MAX_POLL_INTERVAL_MS));
+    }
+
+    private static ThreadFactory daemonThreads(String name) {
+        return runnable -> {
+            Thread thread = new Thread(runnable, name);
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        poller.shutdownNow();
+    }
+}
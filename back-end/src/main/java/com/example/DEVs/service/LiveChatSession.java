@@ -0,0 +1,87 @@
+package com.example.DEVs.service;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.Instant;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 비디오 하나에 대한 라이브 채팅 수집 상태
+ * 시작 시각, 다음 페이지 토큰, 폴링 간격, 중복 윈도우, 수집 통계를 세션마다 따로 가진다.
+ */
+@Getter
+public class LiveChatSession {
+
+    private final String videoId;
+    private final String liveChatId;
+    private final Instant liveStartTime;
+    private final ChatDedupeWindow dedupeWindow = new ChatDedupeWindow();
+
+    @Setter
+    private volatile String pageToken;
+    @Setter
+    private volatile long pollDelayMillis;
+    // 초당 채팅 수 (EWMA)
+    @Setter
+    private volatile double messageRate;
+
+    private volatile long lastAccessMillis;
+    // 이 오프셋(ms) 이전에 올라온 채팅은 모두 수집 파이프라인에 들어갔다. (마지막으로 성공한 폴링의 요청 시각)
+    private volatile long ingestWatermarkMillis = -1;
+
+    @Setter
+    private volatile ScheduledFuture<?> pollTask;
+
+    // 수집 통계
+    private final LongAdder polls = new LongAdder();
+    private final LongAdder pollErrors = new LongAdder();
+    private final LongAdder messagesReceived = new LongAdder();
+    private final LongAdder messagesStored = new LongAdder();
+    private final LongAdder duplicatesDropped = new LongAdder();
+
+    public LiveChatSession(String videoId, String liveChatId, Instant liveStartTime) {
+        this.videoId = videoId;
+        this.liveChatId = liveChatId;
+        this.liveStartTime = liveStartTime;
+        this.lastAccessMillis = System.currentTimeMillis();
+    }
+
+    public void touch() {
+        this.lastAccessMillis = System.currentTimeMillis();
+    }
+
+    public void recordPoll(int received) {
+        polls.increment();
+        messagesReceived.add(received);
+    }
+
+    // 수집 스레드에서 중복 판정 후 호출
+    public void recordIngested(boolean stored) {
+        if (stored) {
+            messagesStored.increment();
+        } else {
+            duplicatesDropped.increment();
+        }
+    }
+
+    public void recordPollError() {
+        pollErrors.increment();
+    }
+
+    /**
+     * 폴링 한 번이 끝나 응답의 채팅을 모두 파이프라인에 넣은 뒤 호출한다.
+     *
+     * @param polledAtMillis 그 폴링 요청을 보낸 시각 (epoch ms)
+     */
+    public void advanceIngestWatermark(long polledAtMillis) {
+        long offset = polledAtMillis - liveStartTime.toEpochMilli();
+        if (offset > ingestWatermarkMillis) ingestWatermarkMillis = offset;
+    }
+
+    // 라이브 시작 기준 현재 오프셋 (ms)
+    public long currentOffsetMillis() {
+        return System.currentTimeMillis() - liveStartTime.toEpochMilli();
+    }
+}
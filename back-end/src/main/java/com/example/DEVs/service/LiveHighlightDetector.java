@@ -0,0 +1,209 @@
+package com.example.DEVs.service;
+
+import com.example.DEVs.dto.LiveMomentDto;
+import com.example.DEVs.entity.Sentiment;
+import com.example.DEVs.util.TimelineFormat;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 라이브 중에 감정 분석 구간이 나올 때마다 하이라이트 후보를 갱신한다.
+ * 영상마다 EWMA 기준선과 상위 K 선택기만 들고 있어 방송 길이와 관계없이 메모리가 일정하고,
+ * VOD 가 올라오면 감정 이력을 다시 읽지 않고 바로 컷을 시작할 수 있다.
+ */
+@Service
+@RequiredArgsConstructor
+public class LiveHighlightDetector {
+
+    private static final double BASELINE_SMOOTHING = 0.2;
+    // 영상별로 남겨 두는 최근 급등 구간 수
+    private static final int MAX_MOMENTS = 50;
+    // 갱신이 없는 영상 상태를 버리는 시간
+    private static final long STATE_TTL_MS = 24 * 60 * 60_000L;
+
+    private final HighlightScorer highlightScorer;
+
+    // 영상당 남길 하이라이트 수
+    @Value("${highlight.top-k:5}")
+    private int topK;
+
+    // 이 간격 이내로 이어지는 구간은 하나로 합친다. -1 이면 합치지 않는다 (구간 하나가 클립 하나)
+    @Value("${highlight.merge-gap-ms:-1}")
+    private long mergeGapMs;
+
+    // 합친 구간의 최대 길이
+    @Value("${highlight.max-clip-ms:180000}")
+    private long maxClipMs;
+
+    // 채팅량이 기준선의 이 배수 이상이면 급등 구간(moment)으로 기록
+    @Value("${highlight.live.spike-ratio:1.5}")
+    private double spikeRatio;
+
+    // 긍정 비율(%)이 기준선보다 이만큼(%p) 이상 높으면 급등 구간(moment)으로 기록
+    @Value("${highlight.live.positive-spike-delta:20}")
+    private double positiveSpikeDelta;
+
+    private final Map<String, DetectorState> states = new ConcurrentHashMap<>();
+
+    public HighlightSelector newSelector() {
+        return new HighlightSelector(topK, mergeGapMs, maxClipMs);
+    }
+
+    /**
+     * 새 감정 분석 구간을 반영한다. 구간은 timelineMs 오름차순으로 들어와야 하며,
+     * 이미 본 시점 이전의 구간은 무시한다.
+     */
+    public void onSentiment(Sentiment sentiment) {
+        evictStaleStates();
+        states.computeIfAbsent(sentiment.getVideoId(), id -> new DetectorState(newSelector()))
+                .update(sentiment);
+    }
+
+    /**
+     * 라이브 중 쌓인 하이라이트 후보를 꺼낸다. 꺼낸 뒤에는 상태를 버린다.
+     * 저장된 감정 구간(firstMs ~ lastMs, count 개)을 처음부터 끝까지 모두 본 경우에만 돌려주고,
+     * 재시작 등으로 일부만 봤으면 비어 있다. (감정 이력을 다시 훑어야 한다)
+     */
+    public Optional<List<HighlightSelector.Candidate>> takeCandidates(String videoId, long firstMs, long lastMs, long count) {
+        DetectorState state = states.remove(videoId);
+        if (state == null) return Optional.empty();
+        synchronized (state) {
+            if (!state.covers(firstMs, lastMs, count)) return Optional.empty();
+            return Optional.of(state.finish());
+        }
+    }
+
+    public List<LiveMomentDto> currentCandidates(String videoId) {
+        DetectorState state = states.get(videoId);
+        return state == null ? List.of() : state.candidates();
+    }
+
+    public List<LiveMomentDto> recentMoments(String videoId) {
+        DetectorState state = states.get(videoId);
+        return state == null ? List.of() : state.moments();
+    }
+
+    private void evictStaleStates() {
+        long now = System.currentTimeMillis();
+        states.values().removeIf(state -> now - state.lastUpdateMillis > STATE_TTL_MS);
+    }
+
+    private static LiveMomentDto toDto(HighlightSelector.Candidate c, double chatRateRatio, double positiveDelta) {
+        return LiveMomentDto.builder()
+                .startTime(TimelineFormat.format(c.getStartMs()))
+                .endTime(TimelineFormat.format(c.getEndMs()))
+                .startMs(c.getStartMs())
+                .endMs(c.getEndMs())
+                .score(c.getScore())
+                .positive(c.getPositive())
+                .totalMessages(c.getTotalMessages())
+                .chatRateRatio(chatRateRatio)
+                .positiveDelta(positiveDelta)
+                .build();
+    }
+
+    // 영상 하나의 누적 상태 (직전 구간 값, 채팅량/긍정 기준선, 상위 K, 최근 급등 구간)
+    private class DetectorState {
+        private final HighlightSelector selector;
+        private final ArrayDeque<LiveMomentDto> moments = new ArrayDeque<>();
+
+        private boolean started;
+        private long firstTimelineMs;
+        private long observed;
+        // 오프라인 스캔(HighlightService.selectCandidates)과 같이 첫 구간의 직전 값은 0 초, 채팅 0 개
+        private long prevTimelineMs;
+        private int prevTotalMessages;
+        private double baselineMessages = -1;
+        private double baselinePositive = -1;
+        private volatile long lastUpdateMillis = System.currentTimeMillis();
+
+        DetectorState(HighlightSelector selector) {
+            this.selector = selector;
+        }
+
+        synchronized void update(Sentiment s) {
+            lastUpdateMillis = System.currentTimeMillis();
+            if (!started) {
+                started = true;
+                firstTimelineMs = s.getTimelineMs();
+            } else if (s.getTimelineMs() <= prevTimelineMs) {
+                return;
+            }
+            observed++;
+
+            Sentiment prev = new Sentiment();
+            prev.setTimelineMs(prevTimelineMs);
+            prev.setTotalMessages(prevTotalMessages);
+
+            int messages = s.getTotalMessages();
+            double ratio = chatRateRatio(messages);
+            double positiveDelta = positiveDelta(s.getPositive());
+
+            if (highlightScorer.isEligible(s)) {
+                double increaseRate = HighlightScorer.increaseRate(prev, s);
+                HighlightSelector.Candidate candidate = new HighlightSelector.Candidate(
+                        prevTimelineMs,
+                        s.getTimelineMs(),
+                        highlightScorer.score(prev, s),
+                        s.getPositive(),
+                        messages,
+                        Math.round(increaseRate * 100) / 100.0);
+                selector.offer(candidate);
+
+                // 채팅량이 몰리거나 분위기가 갑자기 좋아진 구간
+                boolean chatSpike = baselineMessages > 0 && ratio >= spikeRatio;
+                boolean positiveSpike = baselinePositive >= 0 && positiveDelta >= positiveSpikeDelta;
+                if (chatSpike || positiveSpike) {
+                    moments.addLast(toDto(candidate, ratio, positiveDelta));
+                    if (moments.size() > MAX_MOMENTS) moments.pollFirst();
+                }
+            }
+
+            baselineMessages = smooth(baselineMessages, messages);
+            baselinePositive = smooth(baselinePositive, s.getPositive());
+            prevTimelineMs = s.getTimelineMs();
+            prevTotalMessages = messages;
+        }
+
+        synchronized List<LiveMomentDto> candidates() {
+            return selector.snapshot().stream()
+                    .map(c -> toDto(c, chatRateRatio(c.getTotalMessages()), positiveDelta(c.getPositive())))
+                    .toList();
+        }
+
+        private double chatRateRatio(int messages) {
+            if (baselineMessages <= 0) return 1.0;
+            return Math.round(messages / baselineMessages * 100) / 100.0;
+        }
+
+        // 평소 긍정 비율 대비 차이 (%p)
+        private double positiveDelta(double positive) {
+            if (baselinePositive < 0) return 0.0;
+            return Math.round((positive - baselinePositive) * 100) / 100.0;
+        }
+
+        private double smooth(double baseline, double value) {
+            return baseline < 0 ? value : BASELINE_SMOOTHING * value + (1 - BASELINE_SMOOTHING) * baseline;
+        }
+
+        synchronized List<LiveMomentDto> moments() {
+            return new ArrayList<>(moments);
+        }
+
+        synchronized boolean covers(long firstMs, long lastMs, long count) {
+            return started && firstTimelineMs == firstMs && prevTimelineMs == lastMs && observed == count;
+        }
+
+        synchronized List<HighlightSelector.Candidate> finish() {
+            return selector.finish();
+        }
+    }
+}
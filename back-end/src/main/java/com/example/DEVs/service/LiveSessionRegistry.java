@@ -0,0 +1,48 @@
+package com.example.DEVs.service;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 수집 중인 라이브 세션 목록
+ * 시작 시각, 페이지 토큰, 중복 윈도우, 카운터 같은 상태는 모두 세션 객체가 들고 있고
+ * 서비스 빈들은 상태 없이 세션을 넘겨받아 처리하므로 여러 방송을 락 없이 동시에 수집할 수 있다.
+ * 한 세션의 폴링은 이전 폴링이 끝난 뒤에만 예약되므로 세션 내부 상태는 한 스레드씩만 다룬다.
+ */
+@Component
+public class LiveSessionRegistry {
+
+    private final Map<String, LiveChatSession> sessions = new ConcurrentHashMap<>();
+
+    public LiveChatSession find(String videoId) {
+        return sessions.get(videoId);
+    }
+
+    /**
+     * @return 이미 등록된 세션이 있으면 그 세션, 새로 등록했으면 null
+     */
+    public LiveChatSession registerIfAbsent(LiveChatSession session) {
+        return sessions.putIfAbsent(session.getVideoId(), session);
+    }
+
+    public LiveChatSession remove(String videoId) {
+        return sessions.remove(videoId);
+    }
+
+    // 중단 후 같은 영상으로 새 세션이 열렸으면 이전 세션의 예약 작업은 버린다
+    public boolean isCurrent(LiveChatSession session) {
+        return sessions.get(session.getVideoId()) == session;
+    }
+
+    public Collection<LiveChatSession> all() {
+        return List.copyOf(sessions.values());
+    }
+
+    public int size() {
+        return sessions.size();
+    }
+}
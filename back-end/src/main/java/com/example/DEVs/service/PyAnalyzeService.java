@@ -1,18 +1,30 @@
 package com.example.DEVs.service;
 
-import com.example.DEVs.entity.Highlight;
 import com.example.DEVs.entity.Sentiment;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.io.BufferedReader;
 import java.io.File;
 import java.io.InputStreamReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class PyAnalyzeService {
@@ -20,58 +32,161 @@ public class PyAnalyzeService {
     private static final String PYTHON_MODULE_PATH = "../python_modules";
 
     private static final String TEXT_ANALYZE_PATH = "../python_modules/sentimentAnalyzer/main.py";
-    private static final String TEXT_RESULT_PATH = "../python_modules/sentiment_result.json";
-
     private static final String VIDEO_ANALYZE_PATH = "../python_modules/videoAnalyzer/run_videoAnalyzer.py";
-    private static final String VIDEO_RESULT_PATH = "../python_modules/video_analysis_result.json";
 
-    public Sentiment runSentimentAnalyzer(String videoId, long collectStartTime) throws Exception {
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
 
-        List<String> cmd = new ArrayList<>();
-        String analyzeTime = formatTime(collectStartTime);
-        cmd.add("uv");
-        cmd.add("run");
-        cmd.add("python");
-        cmd.add(TEXT_ANALYZE_PATH);
-        cmd.add("--where");
-        String where = String.format(
-                "video_id = '%s' AND published_at >= '%s'",
-                videoId,
-                analyzeTime
-        );
-        cmd.add(where);
+    // false 면 예전처럼 호출마다 프로세스를 띄운다
+    @Value("${python.worker.enabled:true}")
+    private boolean workerEnabled;
+
+    @Value("${python.worker.sentiment.size:2}")
+    private int sentimentWorkers;
+
+    @Value("${python.worker.video.size:2}")
+    private int videoWorkers;
+
+    @Value("${python.worker.timeout-ms:600000}")
+    private long workerTimeoutMs;
+
+    @Value("${python.worker.health-check-interval-ms:30000}")
+    private long healthCheckIntervalMs;
+
+    private PythonWorkerPool sentimentPool;
+    private PythonWorkerPool videoPool;
 
-        ProcessBuilder pb = new ProcessBuilder(cmd);
-        pb.directory(new File(PYTHON_MODULE_PATH));
-        pb.redirectErrorStream(true);
-        Process process = pb.start();
+    private Timer sentimentTimer;
+    private Timer sentimentBatchTimer;
+    private Timer videoTimer;
 
-        System.out.println(cmd);
+    @PostConstruct
+    void startWorkerPools() {
+        String mode = workerEnabled ? "worker" : "process";
+        sentimentTimer = analyzeTimer("sentiment", mode);
+        sentimentBatchTimer = analyzeTimer("sentiment-batch", mode);
+        videoTimer = analyzeTimer("video", mode);
 
-        int exitCode = process.waitFor();
-        if (exitCode != 0) {
-            throw new RuntimeException("Python script failed. exit code=" + exitCode);
+        if (!workerEnabled) return;
+
+        File directory = new File(PYTHON_MODULE_PATH);
+        sentimentPool = new PythonWorkerPool("sentiment-worker",
+                List.of("uv", "run", "python", TEXT_ANALYZE_PATH, "--serve"),
+                directory, sentimentWorkers, workerTimeoutMs, healthCheckIntervalMs, objectMapper);
+        videoPool = new PythonWorkerPool("video-worker",
+                List.of("uv", "run", "python", VIDEO_ANALYZE_PATH, "--serve"),
+                directory, videoWorkers, workerTimeoutMs, healthCheckIntervalMs, objectMapper);
+    }
+
+    // 파이썬 분석기 호출 한 번의 wall time (워커 대기 포함)
+    private Timer analyzeTimer(String analyzer, String mode) {
+        return Timer.builder("python.analyze")
+                .description("파이썬 분석기 호출 시간")
+                .tag("analyzer", analyzer)
+                .tag("mode", mode)
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    void stopWorkerPools() {
+        if (sentimentPool != null) sentimentPool.close();
+        if (videoPool != null) videoPool.close();
+    }
+
+    /**
+     * [collectStartTime, collectEndTime) 구간 채팅의 감정 분석
+     */
+    public Sentiment runSentimentAnalyzer(String videoId, long collectStartTime, long collectEndTime) throws Exception {
+        SentimentWindow window = new SentimentWindow(videoId, collectStartTime, collectEndTime);
+        String where = window.where();
+
+        JsonNode latest = sentimentTimer.recordCallable(() -> {
+            if (sentimentPool != null) {
+                ObjectNode params = objectMapper.createObjectNode();
+                params.put("where", where);
+                return sentimentPool.request("analyze", params);
+            }
+            return runSentimentAnalyzerProcess(where);
+        });
+        return toSentiment(window, latest);
+    }
+
+    /**
+     * 여러 구간을 분석기 요청 한 번으로 분석한다. 결과는 windows 와 같은 순서.
+     * 워커를 쓰지 않을 때는 구간마다 프로세스를 띄우는 예전 방식으로 돌린다.
+     */
+    public List<Sentiment> runSentimentAnalyzerBatch(List<SentimentWindow> windows) throws Exception {
+        if (sentimentPool == null) {
+            List<Sentiment> sentiments = new ArrayList<>(windows.size());
+            for (SentimentWindow window : windows) {
+                sentiments.add(runSentimentAnalyzer(
+                        window.getVideoId(), window.getCollectStartTime(), window.getCollectEndTime()));
+            }
+            return sentiments;
         }
 
-        ObjectMapper mapper = new ObjectMapper();
-        JsonNode root = mapper.readTree(new File(TEXT_RESULT_PATH));
+        ObjectNode params = objectMapper.createObjectNode();
+        ArrayNode windowsNode = params.putArray("windows");
+        for (int i = 0; i < windows.size(); i++) {
+            windowsNode.addObject()
+                    .put("key", String.valueOf(i))
+                    .put("where", windows.get(i).where());
+        }
+        JsonNode result = sentimentBatchTimer.recordCallable(() -> sentimentPool.request("analyze_batch", params));
+
+        Map<String, JsonNode> byKey = new HashMap<>();
+        result.path("results").forEach(node -> byKey.put(node.path("key").asText(), node));
+
+        List<Sentiment> sentiments = new ArrayList<>(windows.size());
+        for (int i = 0; i < windows.size(); i++) {
+            JsonNode analysis = byKey.get(String.valueOf(i));
+            if (analysis == null) {
+                throw new RuntimeException("배치 감정 분석 결과 누락. videoId=" + windows.get(i).getVideoId());
+            }
+            sentiments.add(toSentiment(windows.get(i), analysis));
+        }
+        return sentiments;
+    }
 
-        JsonNode analyses = root.path("analyses");
-        JsonNode latest = analyses.get(analyses.size() - 1);
+    private Sentiment toSentiment(SentimentWindow window, JsonNode latest) {
         JsonNode sentiment = latest.path("sentiment_summary");
 
         Sentiment sentimentEntity = new Sentiment();
-        sentimentEntity.setVideoId(videoId);
+        sentimentEntity.setVideoId(window.getVideoId());
         sentimentEntity.setTotalMessages(latest.path("total_messages").asInt());
         sentimentEntity.setPositive(sentiment.path("positive").asDouble());
         sentimentEntity.setNegative(sentiment.path("negative").asDouble());
         sentimentEntity.setNeutral(sentiment.path("neutral").asDouble());
-        sentimentEntity.setTimeline(analyzeTime);
+        sentimentEntity.setTimelineMs(window.getCollectStartTime());
 
         return sentimentEntity;
     }
 
+    private JsonNode runSentimentAnalyzerProcess(String where) throws Exception {
+        List<String> cmd = new ArrayList<>();
+        cmd.add("uv");
+        cmd.add("run");
+        cmd.add("python");
+        cmd.add(TEXT_ANALYZE_PATH);
+        cmd.add("--where");
+        cmd.add(where);
+
+        return runWithResultFile(cmd, "sentiment-");
+    }
+
     public String runHighlightVideo(String videoPath) throws Exception {
+        JsonNode analysis = videoTimer.recordCallable(() -> {
+            if (videoPool != null) {
+                ObjectNode params = objectMapper.createObjectNode();
+                params.put("file", videoPath);
+                return videoPool.request("analyze", params);
+            }
+            return runHighlightVideoProcess(videoPath);
+        });
+        return analysis.path("summary").asText();
+    }
+
+    private JsonNode runHighlightVideoProcess(String videoPath) throws Exception {
         List<String> cmd = new ArrayList<>();
         cmd.add("uv");
         cmd.add("run");
@@ -80,40 +195,40 @@ public class PyAnalyzeService {
         cmd.add("--file");
         cmd.add(videoPath);
 
-        ProcessBuilder pb = new ProcessBuilder(cmd);
-        pb.directory(new File(PYTHON_MODULE_PATH));
-        pb.redirectErrorStream(true);
-        Process process = pb.start();
-
-        BufferedReader br = new BufferedReader(new InputStreamReader(process.getInputStream()));
-        for (String line; (line = br.readLine()) != null; ) {
-            System.out.println(line);
-        }
-
-
-        int exitCode = process.waitFor();
-        if (exitCode != 0) {
-            throw new RuntimeException("Python script failed. exit code=" + exitCode);
-        }
-
-
-
-        ObjectMapper mapper = new ObjectMapper();
-        JsonNode root = mapper.readTree(new File(VIDEO_RESULT_PATH));
-        JsonNode analyses = root.path("analyses");
-        JsonNode highlight = analyses.get(analyses.size() - 1)
-                .path("analysis_result")
-                .path("summary");
-
-        return highlight.asText();
+        return runWithResultFile(cmd, "video-");
     }
 
-    public String formatTime(long ms) {
-        long hh = ms / 3600_000;
-        long mm = (ms % 3600_000) / 60_000;
-        long ss = (ms % 60_000) / 1000;
-        return String.format("%02d:%02d:%02d", hh, mm, ss);
+    /**
+     * 호출마다 전용 결과 파일을 만들어 --result-file 로 넘기고, 그 파일만 읽는다.
+     * 누적 이력 파일은 파이썬 쪽에서 추가만 하고 여기서는 읽지 않는다.
+     */
+    private JsonNode runWithResultFile(List<String> cmd, String prefix) throws Exception {
+        Path resultFile = Files.createTempFile(prefix, ".json");
+        try {
+            cmd.add("--result-file");
+            cmd.add(resultFile.toAbsolutePath().toString());
+
+            ProcessBuilder pb = new ProcessBuilder(cmd);
+            pb.directory(new File(PYTHON_MODULE_PATH));
+            pb.redirectErrorStream(true);
+            Process process = pb.start();
+
+            log.debug("python 실행: {}", cmd);
+
+            // 출력은 debug 로만 남기고, 끝까지 읽어 파이프가 막히지 않게 한다
+            BufferedReader br = new BufferedReader(new InputStreamReader(process.getInputStream()));
+            for (String line; (line = br.readLine()) != null; ) {
+                log.debug("[python] {}", line);
+            }
+
+            int exitCode = process.waitFor();
+            if (exitCode != 0) {
+                throw new RuntimeException("Python script failed. exit code=" + exitCode);
+            }
+
+            return objectMapper.readTree(resultFile.toFile());
+        } finally {
+            Files.deleteIfExists(resultFile);
+        }
     }
 }
-
-
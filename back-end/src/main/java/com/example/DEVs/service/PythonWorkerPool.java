@@ -0,0 +1,204 @@
+package com.example.DEVs.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * --serve 모드로 띄운 파이썬 분석기 프로세스 풀
+ * 요청/응답은 stdin/stdout 한 줄짜리 JSON 으로 주고받는다.
+ *
+ * 요청: {"id": 1, "op": "analyze", ...}
+ * 응답: {"id": 1, "ok": true, "result": {...}} 또는 {"id": 1, "ok": false, "error": "..."}
+ */
+@Slf4j
+public class PythonWorkerPool implements AutoCloseable {
+
+    private static final long PING_TIMEOUT_MS = 10_000L;
+
+    private final String name;
+    private final List<String> command;
+    private final File directory;
+    private final long requestTimeoutMs;
+    private final ObjectMapper objectMapper;
+
+    // 동시에 처리할 수 있는 요청 수 = 워커 수
+    private final Semaphore permits;
+    private final BlockingQueue<Worker> idle = new LinkedBlockingQueue<>();
+    // 쉬는 워커와 요청을 처리 중인 워커 모두 (close 때 함께 종료)
+    private final Set<Worker> workers = ConcurrentHashMap.newKeySet();
+    private volatile boolean closed;
+    private final AtomicLong requestIds = new AtomicLong();
+
+    private final ExecutorService readers;
+    private final ScheduledExecutorService healthChecker;
+
+    public PythonWorkerPool(String name, List<String> command, File directory, int size,
+                            long requestTimeoutMs, long healthCheckIntervalMs, ObjectMapper objectMapper) {
+        this.name = name;
+        this.command = command;
+        this.directory = directory;
+        this.requestTimeoutMs = requestTimeoutMs;
+        this.objectMapper = objectMapper;
+        this.permits = new Semaphore(size, true);
+
+        this.readers = Executors.newCachedThreadPool(daemonThreads(name + "-reader"));
+        this.healthChecker = Executors.newSingleThreadScheduledExecutor(daemonThreads(name + "-health"));
+        healthChecker.scheduleWithFixedDelay(this::checkIdleWorkers,
+                healthCheckIntervalMs, healthCheckIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 워커 하나를 빌려 요청을 보내고 result 노드를 돌려준다.
+     * 워커가 죽었거나 응답이 없으면 프로세스를 버리고 다음 요청 때 새로 띄운다.
+     */
+    public JsonNode request(String op, ObjectNode params) throws Exception {
+        permits.acquire();
+        Worker worker = null;
+        try {
+            worker = idle.poll();
+            if (worker == null || !worker.isAlive()) {
+                if (worker != null) worker.destroy();
+                worker = spawn();
+            }
+
+            ObjectNode request = params == null ? objectMapper.createObjectNode() : params.deepCopy();
+            request.put("id", requestIds.incrementAndGet());
+            request.put("op", op);
+
+            JsonNode response = worker.call(request, requestTimeoutMs);
+            // 분석 자체가 실패해도 워커는 정상 응답했으므로 재사용
+            idle.offer(worker);
+            worker = null;
+
+            if (!response.path("ok").asBoolean()) {
+                throw new RuntimeException("[" + name + "] 분석 실패: " + response.path("error").asText());
+            }
+            return response.path("result");
+        } finally {
+            if (worker != null) worker.destroy();
+            permits.release();
+        }
+    }
+
+    // 쉬고 있는 워커에 ping 을 보내 응답 없는 프로세스를 정리한다
+    private void checkIdleWorkers() {
+        int count = idle.size();
+        for (int i = 0; i < count; i++) {
+            if (!permits.tryAcquire()) return;
+            try {
+                Worker worker = idle.poll();
+                if (worker == null) return;
+
+                ObjectNode ping = objectMapper.createObjectNode();
+                ping.put("id", requestIds.incrementAndGet());
+                ping.put("op", "ping");
+                try {
+                    worker.call(ping, PING_TIMEOUT_MS);
+                    idle.offer(worker);
+                } catch (Exception e) {
+                    log.warn("[{}] health check 실패, 워커 재시작 예정: {}", name, e.getMessage());
+                    worker.destroy();
+                }
+            } finally {
+                permits.release();
+            }
+        }
+    }
+
+    private Worker spawn() throws IOException {
+        if (closed) throw new IllegalStateException("[" + name + "] 워커 풀이 종료되었습니다.");
+        ProcessBuilder pb = new ProcessBuilder(command);
+        pb.directory(directory);
+        // stdout 은 프로토콜 전용, stderr 는 워커 로그로 받아 logger 로 넘긴다
+        Process process = pb.start();
+        readers.execute(() -> forwardStderr(process));
+        Worker worker = new Worker(process);
+        workers.add(worker);
+        return worker;
+    }
+
+    private void forwardStderr(Process process) {
+        try (BufferedReader stderr = new BufferedReader(
+                new InputStreamReader(process.getErrorStream(), StandardCharsets.UTF_8))) {
+            for (String line; (line = stderr.readLine()) != null; ) {
+                log.debug("[{}:{}] {}", name, process.pid(), line);
+            }
+        } catch (IOException ignored) {
+            // 프로세스 종료
+        }
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        healthChecker.shutdownNow();
+        idle.clear();
+        // 요청 처리 중인 워커도 종료한다 (기다리던 요청은 워커 종료로 실패)
+        List.copyOf(workers).forEach(Worker::destroy);
+        readers.shutdownNow();
+    }
+
+    private class Worker {
+        private final Process process;
+        private final BufferedWriter stdin;
+        private final BufferedReader stdout;
+
+        Worker(Process process) {
+            this.process = process;
+            this.stdin = new BufferedWriter(new OutputStreamWriter(process.getOutputStream(), StandardCharsets.UTF_8));
+            this.stdout = new BufferedReader(new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8));
+        }
+
+        boolean isAlive() {
+            return process.isAlive();
+        }
+
+        JsonNode call(ObjectNode request, long timeoutMs) throws Exception {
+            stdin.write(objectMapper.writeValueAsString(request));
+            stdin.newLine();
+            stdin.flush();
+
+            Future<String> line = readers.submit(stdout::readLine);
+            String response;
+            try {
+                response = line.get(timeoutMs, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                line.cancel(true);
+                throw new RuntimeException("[" + name + "] 응답 시간 초과 (" + timeoutMs + "ms)");
+            }
+            if (response == null) {
+                throw new RuntimeException("[" + name + "] 워커 종료. exit code=" + process.waitFor());
+            }
+
+            JsonNode node = objectMapper.readTree(response);
+            if (node.path("id").asLong() != request.path("id").asLong()) {
+                throw new RuntimeException("[" + name + "] 응답 id 불일치");
+            }
+            return node;
+        }
+
+        // uv run 같은 실행기로 띄우면 DB/Gemini 연결을 가진 실제 파이썬은 자식 프로세스이므로 자손부터 종료한다
+        void destroy() {
+            workers.remove(this);
+            process.descendants().forEach(ProcessHandle::destroyForcibly);
+            process.destroyForcibly();
+        }
+    }
+
+    private static ThreadFactory daemonThreads(String name) {
+        return runnable -> {
+            Thread thread = new Thread(runnable, name);
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,154 @@
+package com.example.DEVs.service;
+
+import com.example.DEVs.entity.Sentiment;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+/**
+ * 여러 방송의 감정 분석 구간을 잠깐 모았다가 분석기 요청 한 번으로 보낸다.
+ * max-size 개가 모이거나 첫 구간이 들어온 뒤 max-wait-ms 가 지나면 묶음을 보낸다.
+ * max-wait-ms 를 줄이면 지연이, 늘리면 요청 수가 줄어든다. (0 이면 묶지 않음)
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SentimentBatcher {
+
+    private final PyAnalyzeService pyAnalyzeService;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${sentiment.batch.max-size:16}")
+    private int maxBatchSize = 16;
+
+    @Value("${sentiment.batch.max-wait-ms:2000}")
+    private long maxWaitMs = 2_000L;
+
+    // 동시에 분석기로 나가는 묶음 수 (파이썬 감정 워커 수와 맞춘다)
+    @Value("${sentiment.batch.threads:2}")
+    private int threads = 2;
+
+    private final Object lock = new Object();
+    private List<PendingWindow> pending = new ArrayList<>();
+    private ScheduledFuture<?> flushTask;
+
+    private ScheduledExecutorService timer;
+    private ExecutorService executor;
+    private DistributionSummary batchSize;
+
+    @PostConstruct
+    void start() {
+        timer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "sentiment-batch-timer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor = Executors.newFixedThreadPool(Math.max(1, threads), runnable -> {
+            Thread thread = new Thread(runnable, "sentiment-batch");
+            thread.setDaemon(true);
+            return thread;
+        });
+        batchSize = DistributionSummary.builder("sentiment.batch.size")
+                .description("분석기 요청 한 번에 묶인 구간 수")
+                .register(meterRegistry);
+    }
+
+    /**
+     * [collectStartTime, collectEndTime) 구간을 다음 묶음에 넣는다.
+     * 분석이 끝나면 해당 구간의 Sentiment 로, 묶음이 실패하면 예외로 완료된다.
+     */
+    public CompletableFuture<Sentiment> submit(String videoId, long collectStartTime, long collectEndTime) {
+        PendingWindow window = new PendingWindow(new SentimentWindow(videoId, collectStartTime, collectEndTime));
+
+        List<PendingWindow> ready = null;
+        synchronized (lock) {
+            pending.add(window);
+            if (pending.size() >= maxBatchSize || maxWaitMs <= 0) {
+                ready = takePending();
+            } else if (pending.size() == 1) {
+                flushTask = timer.schedule(this::flushDue, maxWaitMs, TimeUnit.MILLISECONDS);
+            }
+        }
+        if (ready != null) dispatch(ready);
+        return window.result;
+    }
+
+    public int pendingCount() {
+        synchronized (lock) {
+            return pending.size();
+        }
+    }
+
+    private void flushDue() {
+        List<PendingWindow> ready;
+        synchronized (lock) {
+            if (pending.isEmpty()) return;
+            ready = takePending();
+        }
+        dispatch(ready);
+    }
+
+    // lock 안에서 호출
+    private List<PendingWindow> takePending() {
+        if (flushTask != null) {
+            flushTask.cancel(false);
+            flushTask = null;
+        }
+        List<PendingWindow> ready = pending;
+        pending = new ArrayList<>();
+        return ready;
+    }
+
+    private void dispatch(List<PendingWindow> batch) {
+        try {
+            executor.execute(() -> analyze(batch));
+        } catch (RejectedExecutionException e) {
+            batch.forEach(window -> window.result.completeExceptionally(e));
+        }
+    }
+
+    private void analyze(List<PendingWindow> batch) {
+        batchSize.record(batch.size());
+        List<SentimentWindow> windows = new ArrayList<>(batch.size());
+        batch.forEach(window -> windows.add(window.window));
+        try {
+            List<Sentiment> sentiments = pyAnalyzeService.runSentimentAnalyzerBatch(windows);
+            for (int i = 0; i < batch.size(); i++) {
+                batch.get(i).result.complete(sentiments.get(i));
+            }
+        } catch (Exception e) {
+            log.warn("배치 감정 분석 실패. windows={}", windows.size(), e);
+            batch.forEach(window -> window.result.completeExceptionally(e));
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        List<PendingWindow> remaining;
+        synchronized (lock) {
+            remaining = takePending();
+        }
+        timer.shutdownNow();
+        executor.shutdownNow();
+        IllegalStateException closed = new IllegalStateException("감정 분석 배처 종료");
+        remaining.forEach(window -> window.result.completeExceptionally(closed));
+    }
+
+    private static class PendingWindow {
+        private final SentimentWindow window;
+        private final CompletableFuture<Sentiment> result = new CompletableFuture<>();
+
+        PendingWindow(SentimentWindow window) {
+            this.window = window;
+        }
+    }
+}
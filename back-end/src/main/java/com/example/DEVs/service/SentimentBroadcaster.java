@@ -0,0 +1,258 @@
+package com.example.DEVs.service;
+
+import com.example.DEVs.dto.SentimentDto;
+import com.example.DEVs.entity.Sentiment;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 라이브 방송별 감정 분석을 백그라운드에서 한 번만 돌리고 결과를 모든 구독자에게 SSE 로 보낸다.
+ * 대시보드를 보는 사람이 몇 명이든 영상 하나당 분석 파이프라인은 하나이며,
+ * 구독자도 대기 요청도 없는 상태가 이어지면 분석을 멈춘다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SentimentBroadcaster {
+
+    private static final long IDLE_STOP_MS = 5 * 60_000L;
+
+    private final LiveChatScheduler liveChatScheduler;
+    private final ChatIngestPipeline chatIngestPipeline;
+    private final SentimentBatcher sentimentBatcher;
+    private final SentimentHistoryService sentimentHistoryService;
+    private final LiveHighlightDetector liveHighlightDetector;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    // 감정 분석 구간 길이
+    @Value("${sentiment.live.bucket-seconds:60}")
+    private long bucketSeconds;
+
+    private final Map<String, LiveAnalysis> analyses = new ConcurrentHashMap<>();
+
+    private final ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(2, runnable -> {
+        Thread thread = new Thread(runnable, "sentiment-broadcast");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // 구간이 닫힌 뒤 구독자에게 결과가 나갈 때까지 (flush + 배치 대기 + 분석 + 저장 + 전송)
+    private Timer bucketTimer;
+
+    @PostConstruct
+    void registerMeters() {
+        bucketTimer = Timer.builder("sentiment.live.bucket")
+                .description("라이브 감정 구간 하나를 분석해 전파하기까지 걸린 시간")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 감정 분석 결과 구독. 직전 결과가 있으면 바로 한 번 보낸다.
+     *
+     * @return 라이브 중이 아니면 false
+     */
+    public boolean subscribe(String videoId, SseEmitter emitter) {
+        LiveAnalysis analysis = ensureRunning(videoId);
+        if (analysis == null) return false;
+        analysis.subscribe(emitter);
+        return true;
+    }
+
+    /**
+     * 다음 분석 구간 결과를 기다린다. (기존 POST 클라이언트용)
+     *
+     * @return 라이브 중이 아니면 null
+     */
+    public CompletableFuture<SentimentDto> nextBucket(String videoId) {
+        LiveAnalysis analysis = ensureRunning(videoId);
+        if (analysis == null) return null;
+
+        CompletableFuture<SentimentDto> next = new CompletableFuture<>();
+        analysis.waiters.add(next);
+        return next;
+    }
+
+    public int activeAnalysisCount() {
+        return analyses.size();
+    }
+
+    public int subscriberCount() {
+        return analyses.values().stream().mapToInt(a -> a.subscribers.size()).sum();
+    }
+
+    private LiveAnalysis ensureRunning(String videoId) {
+        LiveAnalysis analysis = analyses.get(videoId);
+        if (analysis == null) {
+            LiveChatSession session = liveChatScheduler.start(videoId);
+            if (session == null) return null;
+
+            LiveAnalysis created = new LiveAnalysis(videoId, session.currentOffsetMillis());
+            analysis = analyses.putIfAbsent(videoId, created);
+            if (analysis == null) {
+                analysis = created;
+                long bucketMs = bucketSeconds * 1_000L;
+                created.task = scheduler.scheduleWithFixedDelay(
+                        () -> analyze(created), bucketMs, bucketMs, TimeUnit.MILLISECONDS);
+            }
+        }
+        analysis.lastAccessMillis = System.currentTimeMillis();
+        return analysis;
+    }
+
+    private void analyze(LiveAnalysis analysis) {
+        if (analysis.isIdle()) {
+            stop(analysis, null);
+            return;
+        }
+
+        // 수집 세션도 함께 유지 (방송이 끝났으면 null)
+        LiveChatSession session = liveChatScheduler.start(analysis.videoId);
+        if (session == null) {
+            stop(analysis, "offline");
+            return;
+        }
+
+        // 구간 끝은 지금이 아니라 수집 watermark 로 닫는다. 폴링은 최대 수십 초 늦으므로
+        // 지금으로 닫으면 그 사이 올라온 채팅이 다음 폴링에서 이미 분석한 구간으로 들어가 버려진다.
+        long bucketEnd = Math.min(session.currentOffsetMillis(), session.getIngestWatermarkMillis());
+        // 앞 구간 이후 폴링이 끝나지 않았으면 이번 주기는 건너뛴다. 다음 구간이 그만큼 길어진다.
+        if (bucketEnd <= analysis.bucketStartMs) return;
+
+        // 앞 구간이 아직 분석 중이면 이번 주기는 건너뛴다. 다음 구간이 그만큼 길어진다.
+        if (!analysis.inFlight.compareAndSet(false, true)) return;
+
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            // 분석기는 DB 에서 채팅을 읽으므로 수집 파이프라인을 먼저 비운다
+            chatIngestPipeline.flush();
+        } catch (RuntimeException e) {
+            onFailure(analysis, e);
+            return;
+        }
+
+        // 다른 방송 구간과 묶여 분석되므로 스케줄러 스레드는 결과를 기다리지 않는다
+        sentimentBatcher.submit(analysis.videoId, analysis.bucketStartMs, bucketEnd)
+                .whenComplete((sentiment, error) -> {
+                    if (error != null) {
+                        onFailure(analysis, error);
+                        return;
+                    }
+                    try {
+                        sentimentHistoryService.save(sentiment);
+                        liveHighlightDetector.onSentiment(sentiment);
+
+                        analysis.bucketStartMs = bucketEnd;
+                        analysis.inFlight.set(false);
+                        analysis.publish(SentimentDto.from(sentiment));
+                        sample.stop(bucketTimer);
+                    } catch (Exception e) {
+                        onFailure(analysis, e);
+                    }
+                });
+    }
+
+    private void onFailure(LiveAnalysis analysis, Throwable e) {
+        // 구간 시작은 그대로 두고 다음 주기에 더 긴 구간으로 다시 분석
+        log.warn("라이브 감정 분석 실패. videoId={}", analysis.videoId, e);
+        analysis.inFlight.set(false);
+        analysis.fail(e);
+    }
+
+    private void stop(LiveAnalysis analysis, String finalEvent) {
+        if (!analyses.remove(analysis.videoId, analysis)) return;
+        if (analysis.task != null) analysis.task.cancel(false);
+        analysis.close(finalEvent);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        scheduler.shutdownNow();
+        List.copyOf(analyses.values()).forEach(analysis -> stop(analysis, null));
+    }
+
+    // 영상 하나의 분석 상태와 구독자
+    private class LiveAnalysis {
+        private final String videoId;
+        private final List<SseEmitter> subscribers = new CopyOnWriteArrayList<>();
+        private final Queue<CompletableFuture<SentimentDto>> waiters = new ConcurrentLinkedQueue<>();
+        // 배치 분석기에 넘긴 구간이 아직 돌아오지 않음
+        private final AtomicBoolean inFlight = new AtomicBoolean();
+
+        private volatile long bucketStartMs;
+        private volatile long lastAccessMillis = System.currentTimeMillis();
+        private volatile String latestJson;
+        private volatile ScheduledFuture<?> task;
+
+        LiveAnalysis(String videoId, long bucketStartMs) {
+            this.videoId = videoId;
+            this.bucketStartMs = bucketStartMs;
+        }
+
+        void subscribe(SseEmitter emitter) {
+            subscribers.add(emitter);
+            emitter.onCompletion(() -> subscribers.remove(emitter));
+            emitter.onTimeout(() -> subscribers.remove(emitter));
+            emitter.onError(e -> subscribers.remove(emitter));
+
+            String latest = latestJson;
+            if (latest != null) send(emitter, "sentiment", latest);
+        }
+
+        boolean isIdle() {
+            return subscribers.isEmpty() && waiters.isEmpty()
+                    && System.currentTimeMillis() - lastAccessMillis > IDLE_STOP_MS;
+        }
+
+        void publish(SentimentDto dto) throws IOException {
+            // 직렬화는 한 번만 하고 모든 구독자에게 같은 문자열을 보낸다
+            String json = objectMapper.writeValueAsString(dto);
+            latestJson = json;
+            for (SseEmitter emitter : subscribers) {
+                send(emitter, "sentiment", json);
+            }
+            for (CompletableFuture<SentimentDto> waiter; (waiter = waiters.poll()) != null; ) {
+                waiter.complete(dto);
+            }
+        }
+
+        void fail(Throwable e) {
+            for (CompletableFuture<SentimentDto> waiter; (waiter = waiters.poll()) != null; ) {
+                waiter.completeExceptionally(e);
+            }
+        }
+
+        void close(String finalEvent) {
+            for (SseEmitter emitter : subscribers) {
+                if (finalEvent != null) send(emitter, finalEvent, "{}");
+                emitter.complete();
+            }
+            subscribers.clear();
+            fail(new IllegalStateException("감정 분석 종료. videoId=" + videoId));
+        }
+
+        private void send(SseEmitter emitter, String event, String json) {
+            try {
+                emitter.send(SseEmitter.event().name(event).data(json, MediaType.APPLICATION_JSON));
+            } catch (IOException | IllegalStateException e) {
+                subscribers.remove(emitter);
+            }
+        }
+    }
+}
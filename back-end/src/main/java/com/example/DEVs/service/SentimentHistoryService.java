@@ -0,0 +1,65 @@
+package com.example.DEVs.service;
+
+import com.example.DEVs.dto.SentimentDto;
+import com.example.DEVs.entity.Sentiment;
+import com.example.DEVs.repository.SentimentRepository;
+import com.example.DEVs.util.Downsampler;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * 영상별 감정 분석 이력 조회/저장
+ * 대시보드가 계속 폴링하므로 조회 결과를 캐시하고, 새 구간이 저장되면 그 영상만 무효화한다.
+ */
+@Service
+@RequiredArgsConstructor
+public class SentimentHistoryService {
+
+    private final SentimentRepository sentimentRepository;
+    private final ObjectMapper objectMapper;
+
+    @Value("${cache.timeline.max-points:200000}")
+    private long maxPoints;
+
+    private TimelineCache<SentimentDto> cache;
+
+    @PostConstruct
+    void createCache() {
+        cache = new TimelineCache<>("sentiment", maxPoints, objectMapper);
+    }
+
+    public TimelineCache.Entry<SentimentDto> history(String videoId) {
+        return cache.get(videoId, () -> sentimentRepository.findAllByVideoIdOrderByTimelineMs(videoId).stream()
+                .map(SentimentDto::from)
+                .toList());
+    }
+
+    /**
+     * afterMs 보다 뒤의 구간을 시간순으로 최대 limit 개 돌려준다. (since 증분 조회와 커서 페이지 공용)
+     */
+    public List<SentimentDto> page(String videoId, long afterMs, int limit) {
+        return sentimentRepository.findByVideoIdAndTimelineMsGreaterThanOrderByTimelineMs(videoId, afterMs, Limit.of(limit))
+                .stream()
+                .map(SentimentDto::from)
+                .toList();
+    }
+
+    /**
+     * 저장된 전체 이력을 points 개로 줄인다. 그래프의 주 지표인 긍정 비율 모양을 기준으로 고른다.
+     */
+    public List<SentimentDto> downsampled(String videoId, int points) {
+        return Downsampler.lttb(history(videoId).getValue(), points, SentimentDto::getTimelineMs, SentimentDto::getPositive);
+    }
+
+    public Sentiment save(Sentiment sentiment) {
+        Sentiment saved = sentimentRepository.save(sentiment);
+        cache.invalidate(sentiment.getVideoId());
+        return saved;
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.DEVs.service;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 감정 분석 대상 구간 하나. [collectStartTime, collectEndTime) 구간의 videoId 채팅
+ */
+@Getter
+@RequiredArgsConstructor
+public class SentimentWindow {
+    private final String videoId;
+    private final long collectStartTime;
+    private final long collectEndTime;
+
+    String where() {
+        return String.format(
+                "video_id = '%s' AND published_at_ms >= %d AND published_at_ms < %d",
+                videoId,
+                collectStartTime,
+                collectEndTime
+        );
+    }
+}
@@ -0,0 +1,141 @@
+package com.example.DEVs.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.Getter;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * 비디오 ID 별 타임라인 목록을 담는 LRU 캐시
+ * 항목 수가 아니라 담긴 원소(포인트) 수 합으로 크기를 제한하고,
+ * 적재한 목록의 JSON 해시를 ETag 로 쓴다. (재시작해도 같은 내용이면 같은 ETag, 다른 내용이면 다른 ETag)
+ */
+public class TimelineCache<T> {
+
+    private final String name;
+    private final long maxPoints;
+
+    private final LinkedHashMap<String, Entry<T>> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long totalPoints;
+
+    private final ObjectMapper objectMapper;
+
+    // 적재 중인 비디오만 담는다. 적재 중에 그 비디오가 무효화되면 결과를 캐시에 넣지 않는다
+    private final Map<String, Loading> loading = new HashMap<>();
+
+    public TimelineCache(String name, long maxPoints) {
+        this(name, maxPoints, new ObjectMapper());
+    }
+
+    public TimelineCache(String name, long maxPoints, ObjectMapper objectMapper) {
+        this.name = name;
+        this.maxPoints = maxPoints;
+        this.objectMapper = objectMapper;
+    }
+
+    public Entry<T> get(String videoId, Supplier<List<T>> loader) {
+        Loading load;
+        long invalidationsBefore;
+        synchronized (this) {
+            Entry<T> cached = entries.get(videoId);
+            if (cached != null) return cached;
+            load = loading.computeIfAbsent(videoId, id -> new Loading());
+            load.loaders++;
+            invalidationsBefore = load.invalidations;
+        }
+
+        Entry<T> loaded;
+        try {
+            List<T> value = List.copyOf(loader.get());
+            loaded = new Entry<>(value, etag(value));
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                finishLoading(videoId, load);
+            }
+            throw e;
+        }
+
+        synchronized (this) {
+            finishLoading(videoId, load);
+            if (load.invalidations != invalidationsBefore || loaded.value.size() > maxPoints) {
+                return loaded;
+            }
+            Entry<T> previous = entries.put(videoId, loaded);
+            if (previous != null) totalPoints -= previous.value.size();
+            totalPoints += loaded.value.size();
+            evictOverflow();
+            return loaded;
+        }
+    }
+
+    public void invalidate(String videoId) {
+        synchronized (this) {
+            Loading load = loading.get(videoId);
+            if (load != null) load.invalidations++;
+            Entry<T> removed = entries.remove(videoId);
+            if (removed != null) totalPoints -= removed.value.size();
+        }
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized long totalPoints() {
+        return totalPoints;
+    }
+
+    // 적재 중인 비디오 수
+    public synchronized int loadingCount() {
+        return loading.size();
+    }
+
+    // 마지막 적재가 끝나면 항목을 지운다 (적재 중이 아닌 비디오는 기록할 필요가 없다)
+    private void finishLoading(String videoId, Loading load) {
+        if (--load.loaders == 0) loading.remove(videoId);
+    }
+
+    private String etag(List<T> value) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(objectMapper.writeValueAsBytes(value));
+            return "\"" + name + "-" + value.size() + "-" + HexFormat.of().formatHex(hash, 0, 12) + "\"";
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("타임라인 ETag 계산 실패. cache=" + name, e);
+        }
+    }
+
+    // 가장 오래 안 쓴 항목부터 제거
+    private void evictOverflow() {
+        Iterator<Map.Entry<String, Entry<T>>> it = entries.entrySet().iterator();
+        while (totalPoints > maxPoints && it.hasNext()) {
+            totalPoints -= it.next().getValue().value.size();
+            it.remove();
+        }
+    }
+
+    // 같은 비디오를 동시에 적재 중인 수와 그동안의 무효화 횟수
+    private static class Loading {
+        private int loaders;
+        private long invalidations;
+    }
+
+    @Getter
+    public static class Entry<T> {
+        private final List<T> value;
+        private final String etag;
+
+        Entry(List<T> value, String etag) {
+            this.value = value;
+            this.etag = etag;
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.DEVs.service;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * 진행 중인 분할 업로드 한 건
+ * 받은 바이트 수와, 지금까지 쓴 내용의 SHA-256 상태를 함께 들고 있다.
+ */
+@Getter
+public class VideoUpload {
+
+    private final String id;
+    private final String videoId;
+    private final long totalSize;   // 모르면 -1
+    private final Path partFile;
+    private final MessageDigest digest;
+
+    private volatile long offset;
+    @Setter
+    private volatile long lastActivityMillis = System.currentTimeMillis();
+    @Getter(AccessLevel.NONE)
+    private String contentHash;
+
+    public VideoUpload(String id, String videoId, long totalSize, Path partFile) {
+        this.id = id;
+        this.videoId = videoId;
+        this.totalSize = totalSize;
+        this.partFile = partFile;
+        try {
+            this.digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    void advance(long bytes) {
+        offset += bytes;
+        lastActivityMillis = System.currentTimeMillis();
+    }
+
+    public boolean isComplete() {
+        return totalSize < 0 || offset == totalSize;
+    }
+
+    // digest() 는 상태를 초기화하므로 한 번만 계산해 둔다
+    synchronized String contentHash() {
+        if (contentHash == null) contentHash = HexFormat.of().formatHex(digest.digest());
+        return contentHash;
+    }
+}
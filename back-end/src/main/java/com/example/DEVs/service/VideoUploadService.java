@@ -0,0 +1,212 @@
+package com.example.DEVs.service;
+
+import com.example.DEVs.entity.VideoContent;
+import com.example.DEVs.repository.HighlightRepository;
+import com.example.DEVs.repository.VideoContentRepository;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 분할/재개 가능한 원본 영상 업로드
+ * 요청 본문을 임시 파일 없이 최종 위치 옆의 .part 파일로 바로 쓰면서 SHA-256 을 같이 계산한다.
+ * 완료 시 같은 해시의 영상이 이미 있으면 저장과 하이라이트 생성을 건너뛴다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class VideoUploadService {
+
+    // 원본 영상 저장 경로
+    private static final String VIDEO_BASE_PATH = "./videos/";
+    // 업로드 중인 파일 경로 (같은 파일시스템이라 완료 시 rename 만 한다)
+    private static final String UPLOAD_PATH = "./videos/uploads/";
+
+    private static final int BUFFER_SIZE = 1 << 20;
+    private static final long STALE_UPLOAD_MS = 24 * 60 * 60_000L;
+
+    private final VideoContentRepository videoContentRepository;
+    private final KeyframeIndexService keyframeIndexService;
+    private final HighlightRepository highlightRepository;
+    private final HighlightJobService highlightJobService;
+
+    private final Map<String, VideoUpload> uploads = new ConcurrentHashMap<>();
+
+    public VideoUpload create(String videoId, long totalSize) throws IOException {
+        evictStaleUploads();
+        Files.createDirectories(Paths.get(UPLOAD_PATH));
+
+        String uploadId = UUID.randomUUID().toString();
+        Path partFile = Path.of(UPLOAD_PATH, uploadId + ".part");
+        Files.createFile(partFile);
+
+        VideoUpload upload = new VideoUpload(uploadId, videoId, totalSize, partFile);
+        uploads.put(uploadId, upload);
+        return upload;
+    }
+
+    public Optional<VideoUpload> find(String uploadId) {
+        return Optional.ofNullable(uploads.get(uploadId));
+    }
+
+    /**
+     * offset 위치부터 청크를 이어 쓴다. offset 이 서버가 가진 크기와 다르면 거절하고,
+     * 클라이언트는 현재 offset 을 다시 조회해 그 지점부터 재전송한다.
+     *
+     * @return 쓰기 후 offset
+     */
+    public long appendChunk(VideoUpload upload, long offset, InputStream body) throws IOException {
+        synchronized (upload) {
+            if (offset != upload.getOffset()) {
+                throw new UploadOffsetMismatchException(upload.getOffset());
+            }
+
+            ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+            try (ReadableByteChannel in = Channels.newChannel(body);
+                 FileChannel out = FileChannel.open(upload.getPartFile(), StandardOpenOption.WRITE)) {
+                out.position(offset);
+
+                while (in.read(buffer) != -1) {
+                    buffer.flip();
+                    // 전체 크기를 넘는 바이트는 쓰지 않고 거절한다
+                    if (upload.getTotalSize() >= 0 && upload.getOffset() + buffer.remaining() > upload.getTotalSize()) {
+                        throw new UploadSizeExceededException(upload.getOffset(), upload.getTotalSize());
+                    }
+                    while (buffer.hasRemaining()) {
+                        // 실제로 쓴 바이트만 해시에 반영 (쓰기가 실패하면 offset 과 해시 모두 그대로)
+                        int start = buffer.position();
+                        int written = out.write(buffer);
+                        upload.getDigest().update(buffer.duplicate().position(start).limit(start + written));
+                        upload.advance(written);
+                    }
+                    buffer.clear();
+                }
+            }
+            return upload.getOffset();
+        }
+    }
+
+    /**
+     * 업로드를 마무리한다.
+     * 같은 내용의 영상이 이미 있고 그 영상의 하이라이트가 있거나 작업이 진행 중이면 .part 를 지우고 기존 비디오 ID를 돌려준다.
+     * 이전 작업이 실패해 하이라이트가 없으면 새 업로드로 처리한다.
+     *
+     * @throws VideoBusyException 같은 비디오 ID 의 하이라이트 작업이 진행 중인 경우 (업로드는 유지)
+     */
+    public UploadResult complete(VideoUpload upload) throws IOException {
+        synchronized (upload) {
+            if (!upload.isComplete()) {
+                throw new IllegalStateException("업로드가 끝나지 않았습니다. offset=" + upload.getOffset()
+                        + ", size=" + upload.getTotalSize());
+            }
+
+            String hash = upload.contentHash();
+            Optional<VideoContent> existing = videoContentRepository.findById(hash);
+            if (existing.isPresent() && isProcessed(existing.get().getVideoId())) {
+                uploads.remove(upload.getId());
+                Files.deleteIfExists(upload.getPartFile());
+                return new UploadResult(existing.get().getVideoId(), hash, true);
+            }
+
+            // 실행 중인 작업의 ffmpeg 가 읽고 있는 원본을 바꿔치기하지 않는다. 업로드는 남겨 두고 작업이 끝난 뒤 다시 완료하게 한다
+            if (highlightJobService.isActive(upload.getVideoId())) {
+                throw new VideoBusyException(upload.getVideoId());
+            }
+            uploads.remove(upload.getId());
+
+            Path target = Path.of(VIDEO_BASE_PATH, upload.getVideoId() + ".mp4");
+            Files.move(upload.getPartFile(), target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+            // 같은 videoId 로 예전에 올린 다른 내용의 기록은 더 이상 이 파일과 맞지 않으므로 지운다
+            videoContentRepository.deleteAll(videoContentRepository.findAllByVideoId(upload.getVideoId()).stream()
+                    .filter(c -> !c.getContentHash().equals(hash))
+                    .toList());
+
+            // 처리되지 않은 기존 기록은 이번 업로드로 덮어쓴다
+            VideoContent content = existing.orElseGet(VideoContent::new);
+            content.setContentHash(hash);
+            content.setVideoId(upload.getVideoId());
+            content.setSizeBytes(upload.getOffset());
+            videoContentRepository.save(content);
+            keyframeIndexService.prepare(upload.getVideoId());
+
+            return new UploadResult(upload.getVideoId(), hash, false);
+        }
+    }
+
+    // 하이라이트가 저장돼 있거나 아직 만드는 중인 영상
+    private boolean isProcessed(String videoId) {
+        return highlightRepository.existsByVideoId(videoId) || highlightJobService.isActive(videoId);
+    }
+
+    private void evictStaleUploads() {
+        long now = System.currentTimeMillis();
+        uploads.values().removeIf(upload -> {
+            if (now - upload.getLastActivityMillis() < STALE_UPLOAD_MS) return false;
+            try {
+                Files.deleteIfExists(upload.getPartFile());
+            } catch (IOException e) {
+                log.warn("오래된 업로드 파일 삭제 실패. file={}", upload.getPartFile(), e);
+            }
+            return true;
+        });
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    public static class UploadResult {
+        private final String videoId;
+        private final String contentHash;
+        // 이미 처리한 영상과 내용이 같음
+        private final boolean duplicate;
+    }
+
+    @Getter
+    public static class UploadOffsetMismatchException extends RuntimeException {
+        private final long expectedOffset;
+
+        public UploadOffsetMismatchException(long expectedOffset) {
+            super("업로드 offset 불일치. expected=" + expectedOffset);
+            this.expectedOffset = expectedOffset;
+        }
+    }
+
+    @Getter
+    public static class UploadSizeExceededException extends RuntimeException {
+        private final long offset;
+        private final long totalSize;
+
+        public UploadSizeExceededException(long offset, long totalSize) {
+            super("업로드 크기 초과. offset=" + offset + ", size=" + totalSize);
+            this.offset = offset;
+            this.totalSize = totalSize;
+        }
+    }
+
+    @Getter
+    public static class VideoBusyException extends RuntimeException {
+        private final String videoId;
+
+        public VideoBusyException(String videoId) {
+            super("하이라이트 작업이 진행 중인 영상입니다. videoId=" + videoId);
+            this.videoId = videoId;
+        }
+    }
+}
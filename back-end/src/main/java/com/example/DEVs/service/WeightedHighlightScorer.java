@@ -0,0 +1,46 @@
+package com.example.DEVs.service;
+
+import com.example.DEVs.entity.Sentiment;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import static java.lang.Math.log;
+
+/**
+ * 기본 점수식
+ * positive × w1 + negative × w2 + log(메시지 수 + 1) × w3 + 증가율 × w4
+ */
+@Component
+public class WeightedHighlightScorer implements HighlightScorer {
+
+    @Value("${highlight.score.positive-weight:0.5}")
+    private double positiveWeight = 0.5;
+
+    @Value("${highlight.score.negative-weight:0.1}")
+    private double negativeWeight = 0.1;
+
+    @Value("${highlight.score.volume-weight:0.4}")
+    private double volumeWeight = 0.4;
+
+    @Value("${highlight.score.increase-weight:0.0}")
+    private double increaseWeight = 0.0;
+
+    // 이 수 이하의 채팅만 있는 구간은 후보에서 제외
+    @Value("${highlight.score.min-messages:5}")
+    private int minMessages = 5;
+
+    @Override
+    public boolean isEligible(Sentiment current) {
+        // 긍정 100% 는 채팅이 거의 없는 구간에서만 나와서 제외
+        return Double.compare(current.getPositive(), 100.0) != 0
+                && current.getTotalMessages() > minMessages;
+    }
+
+    @Override
+    public double score(Sentiment previous, Sentiment current) {
+        return (current.getPositive() * positiveWeight)
+                + (current.getNegative() * negativeWeight)
+                + (log(current.getTotalMessages() + 1) * volumeWeight)
+                + (HighlightScorer.increaseRate(previous, current) * increaseWeight);
+    }
+}
@@ -0,0 +1,271 @@
+package com.example.DEVs.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.netty.channel.ChannelOption;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * YouTube Data API v3 호출 전용 클라이언트
+ * - 커넥션 풀을 재사용하는 WebClient
+ * - 라이브 메타데이터(liveChatId, actualStartTime) TTL 캐시 + ETag 조건부 요청
+ * - API 키별 쿼터 토큰 버킷 (여러 키를 쉼표로 주면 남은 쿼터가 많은 키부터 사용)
+ * base-url 을 바꾸면 로컬 스텁 서버로 부하 테스트할 수 있다.
+ */
+@Component
+@RequiredArgsConstructor
+public class YouTubeApiClient {
+
+    // 호출당 쿼터 비용 (YouTube Data API 문서 기준)
+    private static final int VIDEOS_LIST_COST = 1;
+    private static final int LIVE_CHAT_MESSAGES_LIST_COST = 5;
+    // 라이브가 아닌 영상은 곧 시작할 수 있어 짧게만 캐시
+    private static final long NOT_LIVE_TTL_MS = 60_000L;
+
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${youtube.api.key}")
+    private String apiKeys;
+
+    @Value("${youtube.api.base-url:https://www.googleapis.com/youtube/v3}")
+    private String baseUrl;
+
+    @Value("${youtube.api.pool.max-connections:50}")
+    private int maxConnections;
+
+    @Value("${youtube.api.pool.max-idle-ms:30000}")
+    private long maxIdleMs;
+
+    @Value("${youtube.api.timeout-ms:10000}")
+    private long timeoutMs;
+
+    @Value("${youtube.api.daily-quota:10000}")
+    private long dailyQuota;
+
+    @Value("${youtube.api.metadata-ttl-ms:600000}")
+    private long metadataTtlMs;
+
+    private ConnectionProvider connectionProvider;
+    private WebClient webClient;
+    private List<ApiKey> keys;
+
+    private final Map<String, CachedMetadata> metadataCache = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    void init() {
+        connectionProvider = ConnectionProvider.builder("youtube-api")
+                .maxConnections(maxConnections)
+                .pendingAcquireTimeout(Duration.ofMillis(timeoutMs))
+                .maxIdleTime(Duration.ofMillis(maxIdleMs))
+                .evictInBackground(Duration.ofMillis(maxIdleMs))
+                .build();
+
+        HttpClient httpClient = HttpClient.create(connectionProvider)
+                .compress(true)
+                .responseTimeout(Duration.ofMillis(timeoutMs))
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) Math.min(timeoutMs, Integer.MAX_VALUE));
+
+        webClient = WebClient.builder()
+                .baseUrl(baseUrl)
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .build();
+
+        long now = System.currentTimeMillis();
+        keys = Arrays.stream(apiKeys.split(","))
+                .map(String::trim)
+                .filter(key -> !key.isEmpty())
+                .map(key -> new ApiKey(key, new ApiQuotaBucket(dailyQuota, now)))
+                .toList();
+    }
+
+    /**
+     * 라이브 중인 영상의 채팅 ID와 시작 시각. 캐시가 만료되면 ETag 로 조건부 조회한다.
+     *
+     * @return 라이브가 아니면 empty
+     */
+    public Optional<LiveVideoMetadata> liveMetadata(String videoId) throws Exception {
+        long now = System.currentTimeMillis();
+        CachedMetadata cached = metadataCache.get(videoId);
+        if (cached != null && now < cached.expiresAt) {
+            return cached.metadata;
+        }
+
+        // If-None-Match 는 캐시 항목이 있을 때만 보낸다
+        String path = String.format("/videos?part=liveStreamingDetails&id=%s", videoId);
+        String cachedEtag = cached != null ? cached.etag : null;
+        ApiResponse response = get("videos", path, cachedEtag, VIDEOS_LIST_COST);
+
+        // 캐시가 없는데 304 가 오면 (중간 프록시 등) 미스로 보고 조건 없이 다시 받는다
+        if (response.notModified() && cachedEtag == null) {
+            response = get("videos", path, null, VIDEOS_LIST_COST);
+            if (response.notModified()) {
+                throw new RuntimeException("YouTube API 가 조건 없는 요청에 304 를 반환. videoId=" + videoId);
+            }
+        }
+
+        Optional<LiveVideoMetadata> metadata = response.notModified() && cachedEtag != null
+                ? cached.metadata
+                : parseMetadata(response.body);
+
+        long ttl = metadata.isPresent() ? metadataTtlMs : NOT_LIVE_TTL_MS;
+        String etag = response.etag != null ? response.etag : (cached != null ? cached.etag : null);
+        metadataCache.put(videoId, new CachedMetadata(metadata, etag, now + ttl));
+        return metadata;
+    }
+
+    /**
+     * 방송이 끝났거나 채팅 ID가 바뀐 경우 캐시를 버린다.
+     */
+    public void evictMetadata(String videoId) {
+        metadataCache.remove(videoId);
+    }
+
+    /**
+     * 라이브 채팅 한 페이지 (JSON 원문)
+     */
+    public String liveChatMessages(String liveChatId, String pageToken) {
+        String path = String.format("/liveChat/messages?liveChatId=%s&part=snippet,authorDetails", liveChatId);
+        if (pageToken != null) {
+            path += "&pageToken=" + pageToken;
+        }
+        return get("liveChat.messages", path, null, LIVE_CHAT_MESSAGES_LIST_COST).body;
+    }
+
+    /**
+     * 키별 남은 쿼터 (키는 앞 4자리만 표시)
+     */
+    public Map<String, Long> remainingQuota() {
+        long now = System.currentTimeMillis();
+        Map<String, Long> remaining = new LinkedHashMap<>();
+        for (ApiKey key : keys) {
+            remaining.put(key.masked(), key.bucket.available(now));
+        }
+        return remaining;
+    }
+
+    private Optional<LiveVideoMetadata> parseMetadata(String json) throws Exception {
+        JsonNode items = objectMapper.readTree(json).path("items");
+        if (items.isEmpty()) return Optional.empty();
+
+        JsonNode node = items.get(0).path("liveStreamingDetails");
+        String chatId = node.path("activeLiveChatId").asText();
+        if (chatId.isEmpty()) return Optional.empty();
+
+        return Optional.of(new LiveVideoMetadata(chatId, Instant.parse(node.path("actualStartTime").asText())));
+    }
+
+    private ApiResponse get(String endpoint, String path, String etag, int cost) {
+        ApiKey key = acquire(cost);
+
+        Timer.Sample sample = Timer.start(meterRegistry);
+        ApiResponse response = null;
+        try {
+            response = webClient.get()
+                    .uri(path + "&key=" + key.value)
+                    .headers(headers -> {
+                        if (etag != null) headers.setIfNoneMatch(etag);
+                    })
+                    .exchangeToMono(res -> res.bodyToMono(String.class)
+                            .defaultIfEmpty("")
+                            .map(body -> new ApiResponse(res.statusCode().value(), res.headers().asHttpHeaders().getETag(), body)))
+                    .block(Duration.ofMillis(timeoutMs));
+        } finally {
+            sample.stop(Timer.builder("youtube.api.requests")
+                    .description("YouTube Data API 호출 시간")
+                    .tag("endpoint", endpoint)
+                    .tag("status", response != null ? String.valueOf(response.status) : "error")
+                    .register(meterRegistry));
+        }
+
+        if (response == null) {
+            throw new RuntimeException("YouTube API 응답 없음. path=" + path);
+        }
+        if (response.status == 403 && response.body.contains("quotaExceeded")) {
+            key.bucket.drain(System.currentTimeMillis());
+        }
+        if (response.status >= 400) {
+            throw new RuntimeException("YouTube API 오류. status=" + response.status + ", body=" + response.body);
+        }
+        return response;
+    }
+
+    // 남은 쿼터가 가장 많은 키에서 cost 만큼 차감
+    private ApiKey acquire(int cost) {
+        long now = System.currentTimeMillis();
+        List<ApiKey> candidates = keys.stream()
+                .sorted(Comparator.comparingLong((ApiKey key) -> key.bucket.available(now)).reversed())
+                .toList();
+        for (ApiKey key : candidates) {
+            if (key.bucket.tryAcquire(cost, now)) return key;
+        }
+        throw new QuotaExceededException("YouTube API 쿼터 소진. cost=" + cost);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (connectionProvider != null) connectionProvider.dispose();
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    public static class LiveVideoMetadata {
+        private final String liveChatId;
+        private final Instant actualStartTime;
+    }
+
+    public static class QuotaExceededException extends RuntimeException {
+        public QuotaExceededException(String message) {
+            super(message);
+        }
+    }
+
+    @RequiredArgsConstructor
+    private static class ApiKey {
+        private final String value;
+        private final ApiQuotaBucket bucket;
+
+        String masked() {
+            return value.length() <= 4 ? "****" : value.substring(0, 4) + "****";
+        }
+    }
+
+    @RequiredArgsConstructor
+    private static class ApiResponse {
+        private final int status;
+        private final String etag;
+        private final String body;
+
+        boolean notModified() {
+            return status == 304;
+        }
+    }
+
+    @RequiredArgsConstructor
+    private static class CachedMetadata {
+        private final Optional<LiveVideoMetadata> metadata;
+        private final String etag;
+        private final long expiresAt;
+    }
+}
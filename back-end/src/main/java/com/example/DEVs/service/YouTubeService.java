@@ -1,123 +1,85 @@
 package com.example.DEVs.service;
 
-import com.example.DEVs.entity.Chat;
 import com.example.DEVs.repository.ChatRepository;
-import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
-import org.springframework.web.reactive.function.client.WebClient;
-
-import java.time.Instant;
-import java.util.ArrayList;
-import java.util.List;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class YouTubeService {
 
     private final ChatRepository chatRepository;
-    private final WebClient youtubeWebClient;
+    private final ChatIngestPipeline chatIngestPipeline;
+    private final YouTubeApiClient youTubeApiClient;
     private final ObjectMapper objectMapper;
-    private final String apiKey;
+    private final MeterRegistry meterRegistry;
 
-    private Instant liveStartTime;
+    private Counter messagesReceived;
 
-    // JSON 가져오기 전용 메소드
-    protected String fetchJsonFromUrl(String url) {
-        return youtubeWebClient.get()
-                .uri(url)
-                .retrieve()
-                .bodyToMono(String.class)
-                .block();
+    @PostConstruct
+    void registerMeters() {
+        messagesReceived = meterRegistry.counter("chat.messages.received");
     }
 
-    private String fetchActiveLiveChatId(String videoId) {
+    /**
+     * 라이브 채팅 ID와 방송 시작 시각을 조회해 수집 세션을 만든다.
+     *
+     * @param videoId 유튜브 비디오 ID
+     * @return 라이브 중이 아니면 null
+     */
+    public LiveChatSession openSession(String videoId) {
         try {
-            String url = String.format("/videos?part=liveStreamingDetails&id=%s&key=%s", videoId, apiKey);
-            String json = fetchJsonFromUrl(url);
-            if (json == null) return null;
-
-            JsonNode node = objectMapper.readTree(json)
-                    .path("items").get(0)
-                    .path("liveStreamingDetails");
+            YouTubeApiClient.LiveVideoMetadata metadata = youTubeApiClient.liveMetadata(videoId).orElse(null);
+            if (metadata == null) return null;
 
-            liveStartTime = Instant.parse(node.path("actualStartTime").asText());
-            return node.path("activeLiveChatId").asText();
+            LiveChatSession session = new LiveChatSession(videoId, metadata.getLiveChatId(), metadata.getActualStartTime());
+            seedDedupeWindow(session);
+            return session;
 
         } catch (Exception e) {
-            e.printStackTrace();
+            log.warn("라이브 세션 열기 실패. videoId={}", videoId, e);
             return null;
         }
     }
 
-    private List<Chat> fetchLiveChatMessages(String chatId, String videoId) {
-        List<Chat> chats = new ArrayList<>();
-
-        try {
-            String url = String.format(
-                    "/liveChat/messages?liveChatId=%s&part=snippet,authorDetails&key=%s",
-                    chatId, apiKey);
-
-            String json = fetchJsonFromUrl(url);
-            if (json == null) return chats;
-
-            JsonNode items = objectMapper.readTree(json).path("items");
-
-            items.forEach(item -> {
-                long publishTime = Instant.parse(item.path("snippet").path("publishedAt").asText()).toEpochMilli()
-                        - liveStartTime.toEpochMilli();
-                String author = item.path("authorDetails").path("displayName").asText();
-                String message = item.path("snippet").path("displayMessage").asText();
-
-                if(checkDuplicate(videoId, author, message, publishTime)){
-                    return;
-                }
-                String publishedAt = formatTime(publishTime);
-
-                Chat chat = new Chat();
-                chat.setVideoId(videoId);
-                chat.setAuthor(author);
-                chat.setText(message);
-                chat.setPublishedAt(publishedAt);
-
-                chatRepository.save(chat);
-                chats.add(chat);
-            });
-        } catch (Exception e) {
-            e.printStackTrace();
+    /**
+     * 세션의 pageToken 이후 채팅 한 페이지를 가져와 수집 파이프라인에 넣는다.
+     * 응답은 스트리밍 파서로 읽어 메시지마다 링 버퍼에 복사하고, 중복 판정과 저장은 수집 스레드가 한다.
+     */
+    public LiveChatPage fetchLiveChatPage(LiveChatSession session) throws Exception {
+        String json = youTubeApiClient.liveChatMessages(session.getLiveChatId(), session.getPageToken());
+        if (json == null || json.isEmpty()) {
+            return new LiveChatPage(0, session.getPageToken(), 0, false);
         }
-        return chats;
-    }
 
-    public Instant collectLiveChat(String videoId, int durationSeconds) {
-        String chatId = fetchActiveLiveChatId(videoId);
-        if (chatId == null || chatId.isEmpty()) return null;
+        LiveChatPage page = LiveChatMessageParser.parse(objectMapper.getFactory(), json, session,
+                chatIngestPipeline::publish);
+        chatIngestPipeline.signal();
+        session.recordPoll(page.getItemCount());
+        messagesReceived.increment(page.getItemCount());
 
-        long end = System.currentTimeMillis() + durationSeconds * 1_000L;
-        try {
-            Thread.sleep(durationSeconds * 1_000L);
-            fetchLiveChatMessages(chatId, videoId);
-        }
-        catch (Exception e){
-            throw new RuntimeException(e);
+        if (page.isOffline()) {
+            // 다시 열 때 끝난 방송의 채팅 ID를 쓰지 않도록
+            youTubeApiClient.evictMetadata(session.getVideoId());
         }
-        return this.liveStartTime;
-    }
-
-    public String formatTime(long ms) {
-        long hh = ms / 3600_000;
-        long mm = (ms % 3600_000) / 60_000;
-        long ss = (ms % 60_000) / 1000;
-        return String.format("%02d:%02d:%02d", hh, mm, ss);
+        return page;
     }
 
-    boolean checkDuplicate(String videoId, String author, String message, long publishAt){
-        String start = formatTime(publishAt - 60_000L);
-        String end = formatTime(publishAt + 60_000L);
+    /**
+     * 세션이 새로 열리면 메모리 윈도우가 비어 있으므로
+     * 직전 60초 동안 저장된 채팅을 DB 에서 한 번만 읽어 중복 판정에 사용한다.
+     */
+    private void seedDedupeWindow(LiveChatSession session) {
+        long since = Math.max(0, session.currentOffsetMillis() - ChatDedupeWindow.WINDOW_MS);
+        ChatDedupeWindow dedupeWindow = session.getDedupeWindow();
 
-        return chatRepository.existsByVideoIdAndAuthorAndTextAndPublishedAtBetween(
-                videoId, author, message, start, end
-        );
+        chatRepository.findAllByVideoIdAndPublishedAtMsGreaterThanEqual(session.getVideoId(), since)
+                .forEach(chat -> dedupeWindow.seed(chat.getAuthor(), chat.getText(), chat.getPublishedAtMs()));
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,68 @@
+package com.example.DEVs.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * 시계열 다운샘플링 (Largest-Triangle-Three-Buckets)
+ * 버킷마다 앞뒤 점과 만드는 삼각형 넓이가 가장 큰 점 하나를 남겨
+ * 적은 점으로도 급등/급락 모양을 유지한다. 첫 점과 마지막 점은 항상 남는다.
+ */
+public final class Downsampler {
+
+    private Downsampler() {
+    }
+
+    public static <T> List<T> lttb(List<T> series, int threshold, ToLongFunction<T> x, ToDoubleFunction<T> y) {
+        int n = series.size();
+        // 첫/마지막 점만 남는 threshold 는 의미가 없어 원본을 돌려준다
+        if (threshold < 3 || threshold >= n) {
+            return series;
+        }
+
+        List<T> sampled = new ArrayList<>(threshold);
+        double bucketSize = (double) (n - 2) / (threshold - 2);
+
+        int a = 0;
+        sampled.add(series.get(a));
+
+        for (int i = 0; i < threshold - 2; i++) {
+            // 다음 버킷의 평균점
+            int nextStart = (int) Math.floor((i + 1) * bucketSize) + 1;
+            int nextEnd = Math.min((int) Math.floor((i + 2) * bucketSize) + 1, n);
+            double avgX = 0;
+            double avgY = 0;
+            for (int j = nextStart; j < nextEnd; j++) {
+                avgX += x.applyAsLong(series.get(j));
+                avgY += y.applyAsDouble(series.get(j));
+            }
+            int nextCount = Math.max(1, nextEnd - nextStart);
+            avgX /= nextCount;
+            avgY /= nextCount;
+
+            // 현재 버킷에서 삼각형 넓이가 가장 큰 점
+            int start = (int) Math.floor(i * bucketSize) + 1;
+            int end = (int) Math.floor((i + 1) * bucketSize) + 1;
+            double ax = x.applyAsLong(series.get(a));
+            double ay = y.applyAsDouble(series.get(a));
+
+            double maxArea = -1;
+            int chosen = start;
+            for (int j = start; j < end; j++) {
+                double area = Math.abs((ax - avgX) * (y.applyAsDouble(series.get(j)) - ay)
+                        - (ax - x.applyAsLong(series.get(j))) * (avgY - ay));
+                if (area > maxArea) {
+                    maxArea = area;
+                    chosen = j;
+                }
+            }
+            sampled.add(series.get(chosen));
+            a = chosen;
+        }
+
+        sampled.add(series.get(n - 1));
+        return sampled;
+    }
+}
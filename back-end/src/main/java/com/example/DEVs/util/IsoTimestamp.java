@@ -0,0 +1,93 @@
+package com.example.DEVs.util;
+
+import java.time.OffsetDateTime;
+
+/**
+ * ISO-8601 타임스탬프 → epoch ms
+ * YouTube 가 주는 "2025-01-01T12:34:56.789+00:00" / "...Z" 형식은 고정 위치라 객체 생성 없이 바로 계산하고,
+ * 그 밖의 형식만 OffsetDateTime 으로 넘긴다. ms 아래 자릿수는 버린다.
+ */
+public final class IsoTimestamp {
+
+    private IsoTimestamp() {
+    }
+
+    public static long parseEpochMillis(CharSequence s) {
+        int len = s.length();
+        if (len < 20 || s.charAt(4) != '-' || s.charAt(7) != '-' || s.charAt(10) != 'T'
+                || s.charAt(13) != ':' || s.charAt(16) != ':') {
+            return fallback(s);
+        }
+
+        int year = digits(s, 0, 4);
+        int month = digits(s, 5, 2);
+        int day = digits(s, 8, 2);
+        int hour = digits(s, 11, 2);
+        int minute = digits(s, 14, 2);
+        int second = digits(s, 17, 2);
+        if (year < 0 || month < 1 || month > 12 || day < 1 || day > 31
+                || hour < 0 || hour > 23 || minute < 0 || minute > 59 || second < 0 || second > 59) {
+            return fallback(s);
+        }
+
+        int i = 19;
+        int millis = 0;
+        if (s.charAt(i) == '.') {
+            i++;
+            int scale = 100;
+            while (i < len && isDigit(s.charAt(i))) {
+                millis += (s.charAt(i) - '0') * scale;
+                scale /= 10;
+                i++;
+            }
+        }
+
+        long offsetSeconds;
+        if (i < len && (s.charAt(i) == 'Z' || s.charAt(i) == 'z')) {
+            offsetSeconds = 0;
+            i++;
+        } else if (i + 6 == len && (s.charAt(i) == '+' || s.charAt(i) == '-') && s.charAt(i + 3) == ':') {
+            int offsetHours = digits(s, i + 1, 2);
+            int offsetMinutes = digits(s, i + 4, 2);
+            if (offsetHours < 0 || offsetMinutes < 0) return fallback(s);
+            offsetSeconds = (s.charAt(i) == '-' ? -1 : 1) * (offsetHours * 3600L + offsetMinutes * 60L);
+            i += 6;
+        } else {
+            return fallback(s);
+        }
+        if (i != len) return fallback(s);
+
+        long epochSeconds = daysFromCivil(year, month, day) * 86_400L
+                + hour * 3600L + minute * 60L + second - offsetSeconds;
+        return epochSeconds * 1000 + millis;
+    }
+
+    private static long fallback(CharSequence s) {
+        return OffsetDateTime.parse(s).toInstant().toEpochMilli();
+    }
+
+    // 숫자가 아닌 문자가 있으면 -1
+    private static int digits(CharSequence s, int from, int count) {
+        int value = 0;
+        for (int i = from; i < from + count; i++) {
+            char c = s.charAt(i);
+            if (!isDigit(c)) return -1;
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    // 1970-01-01 기준 일 수 (proleptic Gregorian)
+    private static long daysFromCivil(int year, int month, int day) {
+        long y = month <= 2 ? year - 1 : year;
+        long era = Math.floorDiv(y, 400);
+        long yearOfEra = y - era * 400;
+        long dayOfYear = (153L * (month + (month > 2 ? -3 : 9)) + 2) / 5 + day - 1;
+        long dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        return era * 146_097 + dayOfEra - 719_468;
+    }
+}
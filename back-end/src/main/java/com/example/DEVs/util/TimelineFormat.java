@@ -0,0 +1,36 @@
+package com.example.DEVs.util;
+
+/**
+ * 방송 시작 기준 오프셋(ms) ↔ "HH:mm:ss" 변환
+ * DB 와 서비스는 ms long 으로만 다루고, 문자열은 API 응답에서만 만든다.
+ * 시간 자리는 두 자리를 넘어가도 그대로 늘어난다. (예: 123:04:05)
+ */
+public final class TimelineFormat {
+
+    private TimelineFormat() {
+    }
+
+    public static String format(long ms) {
+        long totalSeconds = Math.max(0, ms) / 1000;
+        long hh = totalSeconds / 3600;
+        int mm = (int) (totalSeconds % 3600 / 60);
+        int ss = (int) (totalSeconds % 60);
+
+        StringBuilder sb = new StringBuilder(12);
+        if (hh < 10) sb.append('0');
+        sb.append(hh).append(':');
+        if (mm < 10) sb.append('0');
+        sb.append(mm).append(':');
+        if (ss < 10) sb.append('0');
+        sb.append(ss);
+        return sb.toString();
+    }
+
+    public static long parse(String hhmmss) {
+        long seconds = 0;
+        for (String part : hhmmss.split(":")) {
+            seconds = seconds * 60 + Long.parseLong(part.trim());
+        }
+        return seconds * 1000;
+    }
+}
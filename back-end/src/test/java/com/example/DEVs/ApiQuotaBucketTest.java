@@ -0,0 +1,58 @@
+package com.example.DEVs;
+
+import com.example.DEVs.service.ApiQuotaBucket;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ApiQuotaBucketTest {
+
+    private static long pacific(int month, int day, int hour, int minute) {
+        return LocalDateTime.of(2024, month, day, hour, minute)
+                .atZone(ApiQuotaBucket.QUOTA_ZONE).toInstant().toEpochMilli();
+    }
+
+    @Test
+    void spendsUntilEmpty() {
+        ApiQuotaBucket bucket = new ApiQuotaBucket(10, 0);
+
+        assertTrue(bucket.tryAcquire(5, 0));
+        assertTrue(bucket.tryAcquire(5, 0));
+        assertFalse(bucket.tryAcquire(1, 0));
+    }
+
+    @Test
+    void doesNotRefillDuringTheDay() {
+        ApiQuotaBucket bucket = new ApiQuotaBucket(10_000, pacific(6, 1, 1, 0));
+        bucket.drain(pacific(6, 1, 1, 0));
+
+        assertEquals(0, bucket.available(pacific(6, 1, 12, 0)));
+        assertEquals(0, bucket.available(pacific(6, 1, 23, 59)));
+    }
+
+    @Test
+    void resetsToCapacityAtPacificMidnight() {
+        ApiQuotaBucket bucket = new ApiQuotaBucket(10_000, pacific(6, 1, 22, 0));
+        assertTrue(bucket.tryAcquire(9_000, pacific(6, 1, 22, 0)));
+
+        assertEquals(1_000, bucket.available(pacific(6, 1, 23, 59)));
+        assertEquals(10_000, bucket.available(pacific(6, 2, 0, 0)));
+
+        // 다음 날 쓴 만큼은 그다음 자정까지 돌아오지 않는다
+        assertTrue(bucket.tryAcquire(4_000, pacific(6, 2, 0, 1)));
+        assertEquals(6_000, bucket.available(pacific(6, 2, 23, 0)));
+        assertEquals(10_000, bucket.available(pacific(6, 5, 8, 0)));
+    }
+
+    @Test
+    void resetsAtMidnightAcrossDaylightSavingChange() {
+        // 2024-03-10 02:00 에 서머타임 시작 (그날은 23시간)
+        ApiQuotaBucket bucket = new ApiQuotaBucket(100, pacific(3, 10, 1, 0));
+        bucket.drain(pacific(3, 10, 1, 0));
+
+        assertEquals(0, bucket.available(pacific(3, 10, 23, 59)));
+        assertEquals(100, bucket.available(pacific(3, 11, 0, 0)));
+    }
+}
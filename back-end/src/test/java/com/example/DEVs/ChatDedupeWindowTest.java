@@ -0,0 +1,46 @@
+package com.example.DEVs;
+
+import com.example.DEVs.service.ChatDedupeWindow;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ChatDedupeWindowTest {
+
+    @Test
+    void sameMessageIdIsDuplicate() {
+        ChatDedupeWindow window = new ChatDedupeWindow();
+
+        assertFalse(window.checkAndRecord("m1", "a", "hello", 1_000));
+        assertTrue(window.checkAndRecord("m1", "a", "hello", 1_000));
+    }
+
+    @Test
+    void sameAuthorAndTextWithin60SecondsIsDuplicate() {
+        ChatDedupeWindow window = new ChatDedupeWindow();
+
+        assertFalse(window.checkAndRecord("m1", "a", "ㅋㅋㅋ", 10_000));
+        assertTrue(window.checkAndRecord("m2", "a", "ㅋㅋㅋ", 70_000));
+        assertFalse(window.checkAndRecord("m3", "b", "ㅋㅋㅋ", 70_000));
+        assertFalse(window.checkAndRecord("m4", "a", "ㅋㅋㅋ", 70_001));
+    }
+
+    @Test
+    void oldEntriesAreEvicted() {
+        ChatDedupeWindow window = new ChatDedupeWindow();
+
+        window.checkAndRecord("m1", "a", "first", 0);
+        window.checkAndRecord("m2", "b", "second", 200_000);
+
+        assertEquals(2, window.size());
+        assertFalse(window.checkAndRecord("m1", "a", "first", 0));
+    }
+
+    @Test
+    void seededChatsCountAsSeen() {
+        ChatDedupeWindow window = new ChatDedupeWindow();
+        window.seed("a", "hello", 5_000);
+
+        assertTrue(window.checkAndRecord("m9", "a", "hello", 6_000));
+    }
+}
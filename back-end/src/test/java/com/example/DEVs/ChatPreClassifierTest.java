@@ -0,0 +1,44 @@
+package com.example.DEVs;
+
+import com.example.DEVs.service.ChatPreClassifier;
+import org.junit.jupiter.api.Test;
+
+import static com.example.DEVs.service.ChatPreClassifier.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ChatPreClassifierTest {
+
+    private final ChatPreClassifier classifier = new ChatPreClassifier();
+
+    @Test
+    void laughterAndCheersArePositive() {
+        assertEquals(POSITIVE, classifier.classify("ㅋㅋㅋㅋㅋㅋㅋ"));
+        assertEquals(POSITIVE, classifier.classify("대박박박!!!"));
+        assertEquals(POSITIVE, classifier.classify("😂😂🔥"));
+        assertEquals(POSITIVE, classifier.classify("👍🏻"));
+        assertEquals(POSITIVE, classifier.classify("WOWWWW"));
+    }
+
+    @Test
+    void obviousNegativesAreNegative() {
+        assertEquals(NEGATIVE, classifier.classify("ㅠㅠㅠ"));
+        assertEquals(NEGATIVE, classifier.classify("노잼 👎"));
+    }
+
+    @Test
+    void punctuationAndFillerAreNeutral() {
+        assertEquals(NEUTRAL, classifier.classify("!!!"));
+        assertEquals(NEUTRAL, classifier.classify("???"));
+        assertEquals(NEUTRAL, classifier.classify("ㄷㄷㄷㄷ"));
+        assertEquals(NEUTRAL, classifier.classify(""));
+    }
+
+    @Test
+    void sentencesAndMixedSignalsGoToModel() {
+        assertNull(classifier.classify("ㅋㅋ 노잼"));
+        assertNull(classifier.classify("오늘 방송 진짜 별로였는데 마지막은 좋았다"));
+        assertNull(classifier.classify("ㅋㅋㅋ 이 장면 다시 보자"));
+        assertNull(classifier.classify("🦄"));
+        assertNull(classifier.classify("ㅋ".repeat(41)));
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.DEVs;
+
+import com.example.DEVs.service.ClipSummaryCache;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ClipSummaryCacheTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void summariesSurviveRestart() throws Exception {
+        ClipSummaryCache cache = new ClipSummaryCache(dir, 10, 1_000);
+        cache.put("src", 0, 10_000, "첫 장면 요약");
+
+        ClipSummaryCache reopened = new ClipSummaryCache(dir, 10, 1_000);
+        assertEquals("첫 장면 요약", reopened.get("src", 0, 10_000));
+        assertNull(reopened.get("src", 0, 20_000));
+        assertNull(reopened.get("other", 0, 10_000));
+    }
+
+    @Test
+    void leastRecentlyUsedIsEvictedFirst() throws Exception {
+        ClipSummaryCache cache = new ClipSummaryCache(dir, 2, 1_000);
+        cache.put("src", 0, 1, "a");
+        cache.put("src", 1, 2, "b");
+        cache.get("src", 0, 1);
+        cache.put("src", 2, 3, "c");
+
+        assertEquals("a", cache.get("src", 0, 1));
+        assertNull(cache.get("src", 1, 2));
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    void recencyIsKeptAcrossRestart() throws Exception {
+        ClipSummaryCache cache = new ClipSummaryCache(dir, 2, 1_000);
+        cache.put("src", 0, 1, "a");
+        cache.put("src", 1, 2, "b");
+        cache.get("src", 0, 1);
+        cache.flush();
+
+        ClipSummaryCache reopened = new ClipSummaryCache(dir, 2, 1_000);
+        reopened.put("src", 2, 3, "c");
+        assertEquals("a", reopened.get("src", 0, 1));
+        assertNull(reopened.get("src", 1, 2));
+    }
+
+    @Test
+    void byteLimitIsEnforced() throws Exception {
+        ClipSummaryCache cache = new ClipSummaryCache(dir, 100, 10);
+        cache.put("src", 0, 1, "12345");
+        cache.put("src", 1, 2, "67890");
+        cache.put("src", 2, 3, "abc");
+
+        assertTrue(cache.totalBytes() <= 10);
+        assertNull(cache.get("src", 0, 1));
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.DEVs;
+
+import com.example.DEVs.util.Downsampler;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DownsamplerTest {
+
+    private static List<double[]> series(int n) {
+        List<double[]> points = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            points.add(new double[]{i, i == n / 2 ? 100 : 10});
+        }
+        return points;
+    }
+
+    private static List<double[]> lttb(List<double[]> points, int threshold) {
+        return Downsampler.lttb(points, threshold, p -> (long) p[0], p -> p[1]);
+    }
+
+    @Test
+    void keepsEndpointsAndRequestedSize() {
+        List<double[]> points = series(1_000);
+
+        List<double[]> sampled = lttb(points, 50);
+
+        assertEquals(50, sampled.size());
+        assertSame(points.get(0), sampled.get(0));
+        assertSame(points.get(999), sampled.get(49));
+    }
+
+    @Test
+    void keepsSpike() {
+        List<double[]> sampled = lttb(series(1_000), 20);
+
+        assertTrue(sampled.stream().anyMatch(p -> p[1] == 100));
+    }
+
+    @Test
+    void shortSeriesIsReturnedAsIs() {
+        List<double[]> points = series(10);
+
+        assertSame(points, lttb(points, 50));
+        assertSame(points, lttb(points, 2));
+    }
+}
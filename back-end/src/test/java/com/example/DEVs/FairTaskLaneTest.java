@@ -0,0 +1,49 @@
+package com.example.DEVs;
+
+import com.example.DEVs.service.FairTaskLane;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FairTaskLaneTest {
+
+    @Test
+    void shutdownCompletesPendingFutures() throws Exception {
+        FairTaskLane lane = new FairTaskLane("test", 1, 10);
+        CountDownLatch started = new CountDownLatch(1);
+
+        // 워커 하나를 붙잡아 두고 나머지는 대기열에 남긴다
+        CompletableFuture<String> running = lane.submit("a", () -> {
+            started.countDown();
+            Thread.sleep(60_000);
+            return "done";
+        });
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        CompletableFuture<String> queuedA = lane.submit("a", () -> "a");
+        CompletableFuture<String> queuedB = lane.submit("b", () -> "b");
+
+        lane.shutdown();
+
+        // allOf(...).get() 이 타임아웃까지 기다리지 않고 바로 끝난다
+        CompletableFuture<Void> all = CompletableFuture.allOf(running, queuedA, queuedB);
+        ExecutionException failed = assertThrows(ExecutionException.class, () -> all.get(5, TimeUnit.SECONDS));
+        assertNotNull(failed.getCause());
+        assertThrows(CancellationException.class, queuedA::join);
+        assertThrows(CancellationException.class, queuedB::join);
+        assertEquals(0, lane.queuedCount());
+    }
+
+    @Test
+    void rejectsTasksAfterShutdown() {
+        FairTaskLane lane = new FairTaskLane("test", 1, 10);
+        lane.shutdown();
+
+        assertTrue(lane.submit("a", () -> "a").isCompletedExceptionally());
+    }
+}
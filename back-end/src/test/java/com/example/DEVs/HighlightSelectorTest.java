@@ -0,0 +1,72 @@
+package com.example.DEVs;
+
+import com.example.DEVs.service.HighlightSelector;
+import com.example.DEVs.service.HighlightSelector.Candidate;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class HighlightSelectorTest {
+
+    private static Candidate minute(int minute, double score) {
+        return new Candidate(minute * 60_000L, (minute + 1) * 60_000L, score, 50, 10, 0);
+    }
+
+    @Test
+    void keepsTopKInTimeOrder() {
+        HighlightSelector selector = new HighlightSelector(2, -1, 180_000);
+
+        selector.offer(minute(0, 1.0));
+        selector.offer(minute(2, 5.0));
+        selector.offer(minute(4, 3.0));
+        selector.offer(minute(6, 4.0));
+
+        List<Candidate> winners = selector.finish();
+        assertEquals(2, winners.size());
+        assertEquals(2 * 60_000L, winners.get(0).getStartMs());
+        assertEquals(6 * 60_000L, winners.get(1).getStartMs());
+    }
+
+    @Test
+    void adjacentWindowsAreMergedUpToMaxLength() {
+        HighlightSelector selector = new HighlightSelector(5, 0, 180_000);
+
+        selector.offer(minute(0, 1.0));
+        selector.offer(minute(1, 2.0));
+        selector.offer(minute(2, 1.5));
+        selector.offer(minute(3, 9.0));
+
+        List<Candidate> winners = selector.finish();
+        assertEquals(2, winners.size());
+
+        Candidate merged = winners.get(0);
+        assertEquals(0, merged.getStartMs());
+        assertEquals(3 * 60_000L, merged.getEndMs());
+        assertEquals(2.0, merged.getScore());
+
+        assertEquals(3 * 60_000L, winners.get(1).getStartMs());
+    }
+
+    @Test
+    void snapshotIncludesOpenRunWithoutFinishing() {
+        HighlightSelector selector = new HighlightSelector(1, 0, 180_000);
+
+        selector.offer(minute(0, 2.0));
+        selector.offer(minute(5, 7.0));
+
+        List<Candidate> snapshot = selector.snapshot();
+        assertEquals(1, snapshot.size());
+        assertEquals(5 * 60_000L, snapshot.get(0).getStartMs());
+
+        selector.offer(minute(6, 1.0));
+        assertEquals(7 * 60_000L, selector.snapshot().get(0).getEndMs());
+        assertEquals(7.0, selector.finish().get(0).getScore());
+    }
+
+    @Test
+    void emptyStreamSelectsNothing() {
+        assertTrue(new HighlightSelector(5, 0, 180_000).finish().isEmpty());
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.DEVs;
+
+import com.example.DEVs.service.KeyframeIndex;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.BufferedReader;
+import java.io.StringReader;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class KeyframeIndexTest {
+
+    @TempDir
+    Path dir;
+
+    private static KeyframeIndex parse(String ffprobeOutput) throws Exception {
+        return KeyframeIndex.fromFfprobe(new BufferedReader(new StringReader(ffprobeOutput)));
+    }
+
+    @Test
+    void onlyKeyframePacketsAreIndexed() throws Exception {
+        KeyframeIndex index = parse("""
+                0.000000,K__
+                0.033367,___
+                N/A,K__
+                4.004000,K_
+                2.002000,K__
+                2.035367,__D
+                """);
+
+        assertEquals(3, index.size());
+        assertEquals(2_002, index.floor(3_000));
+    }
+
+    @Test
+    void floorSnapsToPreviousKeyframe() throws Exception {
+        KeyframeIndex index = parse("1.000000,K__\n5.000000,K__\n9.000000,K__\n");
+
+        assertEquals(5_000, index.floor(5_000));
+        assertEquals(5_000, index.floor(8_999));
+        assertEquals(9_000, index.floor(60_000));
+        // 첫 키프레임 앞이면 그대로
+        assertEquals(500, index.floor(500));
+    }
+
+    @Test
+    void writtenIndexReadsBack() throws Exception {
+        KeyframeIndex index = parse("0.000000,K__\n2.500000,K__\n7.250000,K__\n");
+        Path file = dir.resolve("video.keyframes");
+        index.write(file);
+
+        KeyframeIndex read = KeyframeIndex.read(file);
+        assertEquals(3, read.size());
+        assertEquals(2_500, read.floor(7_000));
+        assertEquals(7_250, read.floor(7_250));
+    }
+}
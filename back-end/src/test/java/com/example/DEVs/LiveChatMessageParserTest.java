@@ -0,0 +1,70 @@
+package com.example.DEVs;
+
+import com.example.DEVs.service.ChatIngestRing;
+import com.example.DEVs.service.LiveChatMessageParser;
+import com.example.DEVs.service.LiveChatPage;
+import com.example.DEVs.service.LiveChatSession;
+import com.example.DEVs.util.IsoTimestamp;
+import com.fasterxml.jackson.core.JsonFactory;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LiveChatMessageParserTest {
+
+    private static final String PAGE = """
+            {"kind":"youtube#liveChatMessageListResponse","pageInfo":{"totalResults":3},
+             "nextPageToken":"GO_next","pollingIntervalMillis":5000,"offlineAt":null,
+             "items":[
+              {"id":"m1","snippet":{"type":"textMessageEvent","textMessageDetails":{"messageText":"x"},
+                "publishedAt":"2025-01-01T00:00:01.5+00:00","displayMessage":"ㅋㅋ \\"진짜\\""},
+               "authorDetails":{"channelId":"c1","displayName":"alice","isChatOwner":false}},
+              {"id":"m2","authorDetails":{"displayName":"alice"},
+               "snippet":{"publishedAt":"2025-01-01T00:00:03Z","displayMessage":"ㅋㅋ \\"진짜\\""}},
+              {"id":"m1","snippet":{"publishedAt":"2025-01-01T00:00:04Z","displayMessage":"other"},
+               "authorDetails":{"displayName":"bob"}}
+             ]}
+            """;
+
+    @Test
+    void readsPageInfoAndMessages() throws Exception {
+        LiveChatSession session = new LiveChatSession("v1", "chat-v1", Instant.parse("2025-01-01T00:00:00Z"));
+        List<String> messages = new ArrayList<>();
+
+        LiveChatPage page = LiveChatMessageParser.parse(new JsonFactory(), PAGE, session,
+                record -> messages.add(record.getAuthor() + "|" + record.getText() + "|" + record.getPublishedAtMs()));
+
+        assertEquals(3, page.getItemCount());
+        assertEquals("GO_next", page.getNextPageToken());
+        assertEquals(5000, page.getPollingIntervalMillis());
+        assertFalse(page.isOffline());
+        assertEquals(List.of("alice|ㅋㅋ \"진짜\"|1500", "alice|ㅋㅋ \"진짜\"|3000", "bob|other|4000"), messages);
+    }
+
+    @Test
+    void dedupesThroughRing() throws Exception {
+        LiveChatSession session = new LiveChatSession("v1", "chat-v1", Instant.parse("2025-01-01T00:00:00Z"));
+        ChatIngestRing ring = new ChatIngestRing(4);
+        List<Boolean> duplicates = new ArrayList<>();
+
+        LiveChatMessageParser.parse(new JsonFactory(), PAGE, session, ring::publish);
+        ring.drain(record -> duplicates.add(session.getDedupeWindow()
+                .checkAndRecord(record.getIdKey(), record.getContentKey(), record.getPublishedAtMs())), 16);
+
+        // 같은 작성자+내용(m2), 같은 메시지 ID(m1 재전송)는 중복
+        assertEquals(List.of(false, true, true), duplicates);
+        assertEquals(0, ring.depth());
+    }
+
+    @Test
+    void isoTimestampMatchesJavaTime() {
+        for (String s : List.of("2025-01-01T00:00:00Z", "2024-02-29T23:59:59.999+09:00",
+                "1969-12-31T23:59:59.123456-03:30", "2025-06-01T12:00:00.1Z")) {
+            assertEquals(java.time.OffsetDateTime.parse(s).toInstant().toEpochMilli(), IsoTimestamp.parseEpochMillis(s), s);
+        }
+    }
+}
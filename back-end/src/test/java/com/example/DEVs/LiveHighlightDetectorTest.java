@@ -0,0 +1,119 @@
+package com.example.DEVs;
+
+import com.example.DEVs.dto.LiveMomentDto;
+import com.example.DEVs.entity.Sentiment;
+import com.example.DEVs.service.HighlightSelector.Candidate;
+import com.example.DEVs.service.HighlightService;
+import com.example.DEVs.service.LiveHighlightDetector;
+import com.example.DEVs.service.WeightedHighlightScorer;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LiveHighlightDetectorTest {
+
+    private static final String VIDEO_ID = "video";
+
+    private static WeightedHighlightScorer scorer() {
+        WeightedHighlightScorer scorer = new WeightedHighlightScorer();
+        // 첫 구간의 직전 값(0 초, 채팅 0 개)이 점수에 반영되도록
+        ReflectionTestUtils.setField(scorer, "increaseWeight", 0.3);
+        return scorer;
+    }
+
+    private static LiveHighlightDetector detector(int topK, long mergeGapMs) {
+        LiveHighlightDetector detector = new LiveHighlightDetector(scorer());
+        ReflectionTestUtils.setField(detector, "topK", topK);
+        ReflectionTestUtils.setField(detector, "mergeGapMs", mergeGapMs);
+        ReflectionTestUtils.setField(detector, "maxClipMs", 180_000L);
+        ReflectionTestUtils.setField(detector, "spikeRatio", 1.5);
+        ReflectionTestUtils.setField(detector, "positiveSpikeDelta", 20.0);
+        return detector;
+    }
+
+    private static Sentiment bucket(int minute, int totalMessages, double positive) {
+        Sentiment s = new Sentiment();
+        s.setVideoId(VIDEO_ID);
+        s.setTimelineMs(minute * 60_000L);
+        s.setTotalMessages(totalMessages);
+        s.setPositive(positive);
+        s.setNegative(100 - positive);
+        s.setNeutral(0.0);
+        return s;
+    }
+
+    // 첫 구간이 가장 점수가 높은 스트림 (방송 시작 직후 채팅이 몰림)
+    private static List<Sentiment> stream() {
+        int[] messages = {120, 30, 25, 80, 10, 3, 60, 200, 40, 35};
+        double[] positive = {70, 40, 35, 60, 30, 90, 45, 80, 50, 100};
+        List<Sentiment> stream = new ArrayList<>();
+        for (int i = 0; i < messages.length; i++) {
+            stream.add(bucket(i + 1, messages[i], positive[i]));
+        }
+        return stream;
+    }
+
+    private static void assertSameCandidates(List<Candidate> expected, List<Candidate> actual) {
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            Candidate e = expected.get(i);
+            Candidate a = actual.get(i);
+            assertEquals(e.getStartMs(), a.getStartMs());
+            assertEquals(e.getEndMs(), a.getEndMs());
+            assertEquals(e.getScore(), a.getScore(), 1e-9);
+            assertEquals(e.getPositive(), a.getPositive(), 1e-9);
+            assertEquals(e.getTotalMessages(), a.getTotalMessages());
+            assertEquals(e.getIncreaseRate(), a.getIncreaseRate(), 1e-9);
+        }
+    }
+
+    private static List<Candidate> liveCandidates(LiveHighlightDetector detector, List<Sentiment> stream) {
+        stream.forEach(detector::onSentiment);
+        long firstMs = stream.get(0).getTimelineMs();
+        long lastMs = stream.get(stream.size() - 1).getTimelineMs();
+        return detector.takeCandidates(VIDEO_ID, firstMs, lastMs, stream.size()).orElseThrow();
+    }
+
+    @Test
+    void liveCandidatesMatchOfflineScan() {
+        List<Sentiment> stream = stream();
+
+        List<Candidate> actual = liveCandidates(detector(3, -1), stream);
+        List<Candidate> expected = HighlightService.selectCandidates(stream, scorer(), detector(3, -1).newSelector());
+
+        assertSameCandidates(expected, actual);
+        // 첫 구간도 0 초부터 이어지는 후보로 뽑힌다
+        assertEquals(0L, actual.get(0).getStartMs());
+    }
+
+    @Test
+    void liveCandidatesMatchOfflineScanWhenMerging() {
+        List<Sentiment> stream = stream();
+
+        List<Candidate> actual = liveCandidates(detector(5, 0), stream);
+
+        List<Candidate> expected = HighlightService.selectCandidates(stream, scorer(), detector(5, 0).newSelector());
+
+        assertSameCandidates(expected, actual);
+    }
+
+    @Test
+    void recordsPositiveSpikesWithoutChatSpike() {
+        LiveHighlightDetector detector = detector(5, -1);
+
+        detector.onSentiment(bucket(1, 50, 30));
+        detector.onSentiment(bucket(2, 50, 30));
+        // 채팅량은 그대로인데 긍정 비율만 크게 오른 구간
+        detector.onSentiment(bucket(3, 50, 80));
+
+        List<LiveMomentDto> moments = detector.recentMoments(VIDEO_ID);
+        assertEquals(1, moments.size());
+        assertEquals(2 * 60_000L, moments.get(0).getStartMs());
+        assertEquals(1.0, moments.get(0).getChatRateRatio(), 1e-9);
+        assertEquals(50.0, moments.get(0).getPositiveDelta(), 1e-9);
+    }
+}
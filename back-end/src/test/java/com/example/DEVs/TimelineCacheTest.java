@@ -0,0 +1,101 @@
+package com.example.DEVs;
+
+import com.example.DEVs.service.TimelineCache;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TimelineCacheTest {
+
+    @Test
+    void loadsOnceUntilInvalidated() {
+        TimelineCache<Integer> cache = new TimelineCache<>("test", 100);
+        AtomicInteger loads = new AtomicInteger();
+
+        TimelineCache.Entry<Integer> first = cache.get("v1", () -> List.of(loads.incrementAndGet()));
+        TimelineCache.Entry<Integer> second = cache.get("v1", () -> List.of(loads.incrementAndGet()));
+        assertEquals(1, loads.get());
+        assertEquals(first.getEtag(), second.getEtag());
+
+        cache.invalidate("v1");
+        TimelineCache.Entry<Integer> third = cache.get("v1", () -> List.of(loads.incrementAndGet()));
+        assertEquals(2, loads.get());
+        assertNotEquals(first.getEtag(), third.getEtag());
+    }
+
+    @Test
+    void evictsLeastRecentlyUsedByPointCount() {
+        TimelineCache<Integer> cache = new TimelineCache<>("test", 5);
+
+        cache.get("a", () -> List.of(1, 2));
+        cache.get("b", () -> List.of(1, 2));
+        cache.get("a", () -> List.of());
+        cache.get("c", () -> List.of(1, 2));
+
+        assertEquals(2, cache.size());
+        assertEquals(4, cache.totalPoints());
+        assertEquals(List.of(1, 2), cache.get("a", () -> List.of(9)).getValue());
+    }
+
+    @Test
+    void oversizedTimelineIsNotCached() {
+        TimelineCache<Integer> cache = new TimelineCache<>("test", 2);
+
+        assertEquals(3, cache.get("a", () -> List.of(1, 2, 3)).getValue().size());
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void etagDependsOnContentNotLoadOrder() {
+        TimelineCache<Integer> cache = new TimelineCache<>("test", 100);
+        TimelineCache<Integer> restarted = new TimelineCache<>("test", 100);
+
+        // 재시작 뒤 다른 내용이 먼저 적재돼도 같은 내용이면 같은 ETag, 다른 내용이면 다른 ETag
+        restarted.get("other", () -> List.of(7, 8));
+        assertEquals(cache.get("v1", () -> List.of(1, 2)).getEtag(), restarted.get("v1", () -> List.of(1, 2)).getEtag());
+        assertNotEquals(cache.get("v1", () -> List.of(1, 2)).getEtag(), restarted.get("v2", () -> List.of(1, 3)).getEtag());
+    }
+
+    @Test
+    void invalidatingOneVideoDoesNotBlockCachingAnother() {
+        TimelineCache<Integer> cache = new TimelineCache<>("test", 100);
+        AtomicInteger loads = new AtomicInteger();
+
+        cache.get("a", () -> {
+            cache.invalidate("b");
+            loads.incrementAndGet();
+            return List.of(1);
+        });
+        cache.get("a", () -> List.of(loads.incrementAndGet()));
+        assertEquals(1, loads.get());
+
+        cache.get("b", () -> {
+            cache.invalidate("b");
+            loads.incrementAndGet();
+            return List.of(2);
+        });
+        cache.get("b", () -> List.of(loads.incrementAndGet()));
+        assertEquals(3, loads.get());
+    }
+
+    @Test
+    void tracksOnlyVideosBeingLoaded() {
+        TimelineCache<Integer> cache = new TimelineCache<>("test", 100);
+
+        for (int i = 0; i < 1_000; i++) {
+            cache.invalidate("v" + i);
+        }
+        cache.get("a", () -> {
+            assertEquals(1, cache.loadingCount());
+            return List.of(1);
+        });
+        assertThrows(IllegalStateException.class, () -> cache.get("b", () -> {
+            throw new IllegalStateException("load failed");
+        }));
+
+        assertEquals(0, cache.loadingCount());
+    }
+}
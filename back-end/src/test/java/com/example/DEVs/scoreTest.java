@@ -4,6 +4,7 @@ import com.example.DEVs.config.WebConfig;
 import com.example.DEVs.entity.Highlight;
 import com.example.DEVs.repository.HighlightRepository;
 import com.example.DEVs.repository.SentimentRepository;
+import com.example.DEVs.service.HighlightSelector;
 import com.example.DEVs.service.HighlightService;
 import com.example.DEVs.service.PyAnalyzeService;
 import org.junit.jupiter.api.BeforeEach;
@@ -17,6 +18,11 @@ import org.springframework.test.context.DynamicPropertyRegistry;
 import org.springframework.test.context.DynamicPropertySource;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
 @SpringBootTest
 @ActiveProfiles("test")
 @ComponentScan(
@@ -41,13 +47,14 @@ public class scoreTest {
             Highlight s1 = new Highlight();
             s1.setVideoId(videoId);
             s1.setVideoUrl(Integer.toString(i));
-            s1.setStartTime(Integer.toString(i));
-            s1.setEndTime(Integer.toString(i+1));
+            s1.setStartMs(i * 60_000L);
+            s1.setEndMs((i + 1) * 60_000L);
 
             s1.setPositive(0.01 * i);
             s1.setSummary("test");
             s1.setIncreaseRate(0.01 * i);
             s1.setTotalMessages(105 - i);
+            s1.setHighlightScore(0.01 * i);
 
             highlightRepository.save(s1);
         }
@@ -64,12 +71,20 @@ public class scoreTest {
     void scoreThresholdTest(){
 
 //        highlightService.extractHighlight(videoId);
-        highlightRepository.findAllByVideoIdOrderByStartTime(videoId).size();
+        highlightRepository.findAllByVideoIdOrderByStartMs(videoId).size();
     }
 
     @Test
     void scoreTest(){
-        highlightRepository.deleteNotHighlightByVideoId(videoId);
-        System.out.println(highlightRepository.findAllByVideoIdOrderByStartTime(videoId).size());
+        // 저장 전에 상위 5개만 고르므로 삭제 쿼리 대신 선택기로 확인
+        HighlightSelector selector = new HighlightSelector(5, -1, 180_000);
+        for (Highlight h : highlightRepository.findAllByVideoIdOrderByStartMs(videoId)) {
+            selector.offer(new HighlightSelector.Candidate(h.getStartMs(), h.getEndMs(), h.getHighlightScore(),
+                    h.getPositive(), h.getTotalMessages(), h.getIncreaseRate()));
+        }
+        List<HighlightSelector.Candidate> top = selector.finish();
+
+        assertEquals(5, top.size());
+        assertTrue(top.stream().allMatch(c -> c.getStartMs() >= 95 * 60_000L));
     }
 }
@@ -1,8 +1,8 @@
 "use client";
 
-import { useState, useEffect, useRef } from "react";
+import { useState, useEffect } from "react";
 import { motion, AnimatePresence } from "framer-motion";
-import { fetchSentimentData, SentimentPoint } from "@/lib/fetchSentiment";
+import { subscribeSentiment, SentimentPoint } from "@/lib/fetchSentiment";
 import {
   PieChart,
   Pie,
@@ -297,35 +297,24 @@ export default function Home() {
   const [channel, setChannel] = useState("");
   const [sentimentData, setSentimentData] = useState<SentimentPoint[]>([]);
   const [hasData, setHasData] = useState(false);
-  const intervalRef = useRef<NodeJS.Timeout | null>(null);
 
   useEffect(() => {
     if (!channel) return;
 
-    const load = async (isInitial = false) => {
-      try {
-        const { timeline } = await fetchSentimentData(channel);
-
+    // 서버가 새 분석 구간을 push 할 때마다 갱신
+    return subscribeSentiment(
+      channel,
+      ({ timeline }) => {
         setSentimentData((prev) => {
           if (JSON.stringify(prev) !== JSON.stringify(timeline)) {
             return timeline;
           }
           return prev;
         });
-
-        if (isInitial) setHasData(true);
-      } catch (err) {
-        console.error("데이터 갱신 오류:", err);
-      }
-    };
-
-    load(true);
-
-    intervalRef.current = setInterval(() => load(false), 60000);
-
-    return () => {
-      if (intervalRef.current) clearInterval(intervalRef.current);
-    };
+        setHasData(true);
+      },
+      (err) => console.error("데이터 갱신 오류:", err)
+    );
   }, [channel]);
 
   const handleStart = () => {
@@ -336,8 +325,7 @@ export default function Home() {
   };
 
   const handleStop = () => {
-    if (intervalRef.current) clearInterval(intervalRef.current);
-    intervalRef.current = null;
+    // channel 이 비면 effect 정리 함수가 구독을 해제
     setChannel("");
     setHasData(false);
   };
@@ -27,6 +27,96 @@ interface HighlightData {
   videoUrl?: string;
 }
 
+interface HighlightJob {
+  jobId: string;
+  videoId: string;
+  status: "QUEUED" | "RUNNING" | "DONE" | "FAILED";
+  stage: string;
+  clipsTotal: number;
+  clipsCut: number;
+  clipsSummarized: number;
+  error?: string;
+  highlights?: HighlightData[];
+}
+
+// 하이라이트 작업이 끝날 때까지 진행 상황 이벤트를 구독
+function waitForHighlightJob(
+  backendUrl: string,
+  jobId: string,
+  onProgress: (job: HighlightJob) => void
+): Promise<HighlightJob> {
+  return new Promise((resolve, reject) => {
+    const source = new EventSource(`${backendUrl}/API/video/jobs/${jobId}/events`);
+
+    source.addEventListener("progress", (e) => {
+      onProgress(JSON.parse((e as MessageEvent).data));
+    });
+    source.addEventListener("done", (e) => {
+      source.close();
+      resolve(JSON.parse((e as MessageEvent).data));
+    });
+    source.addEventListener("failed", (e) => {
+      source.close();
+      reject(new Error(JSON.parse((e as MessageEvent).data).error));
+    });
+    source.onerror = () => {
+      source.close();
+      reject(new Error("하이라이트 작업 상태 연결이 끊어졌습니다."));
+    };
+  });
+}
+
+const UPLOAD_CHUNK_SIZE = 8 * 1024 * 1024;
+const UPLOAD_MAX_RETRIES = 3;
+
+// 원본 영상을 청크 단위로 올린다. 실패하면 서버가 가진 offset 부터 다시 보낸다.
+async function uploadInChunks(backendUrl: string, file: File, channelId: string) {
+  const createRes = await fetch(
+    `${backendUrl}/API/video/uploads?channelId=${encodeURIComponent(channelId)}&size=${file.size}`,
+    { method: "POST" }
+  );
+  if (!createRes.ok) throw new Error(`업로드 시작 실패: ${createRes.statusText}`);
+  const { uploadId } = await createRes.json();
+
+  let offset = 0;
+  let retries = 0;
+  while (offset < file.size) {
+    const chunk = file.slice(offset, offset + UPLOAD_CHUNK_SIZE);
+    try {
+      const res = await fetch(`${backendUrl}/API/video/uploads/${uploadId}?offset=${offset}`, {
+        method: "PUT",
+        headers: { "Content-Type": "application/octet-stream" },
+        body: chunk,
+      });
+      if (!res.ok && res.status !== 409) throw new Error(res.statusText);
+      offset = (await res.json()).offset;
+      retries = 0;
+    } catch (error) {
+      if (++retries > UPLOAD_MAX_RETRIES) throw error;
+      const statusRes = await fetch(`${backendUrl}/API/video/uploads/${uploadId}`);
+      if (!statusRes.ok) throw error;
+      offset = (await statusRes.json()).offset;
+    }
+  }
+
+  const completeRes = await fetch(`${backendUrl}/API/video/uploads/${uploadId}/complete`, {
+    method: "POST",
+  });
+  if (!completeRes.ok) {
+    const errorMsg = await completeRes.text();
+    throw new Error(`분석 요청 실패: ${errorMsg || completeRes.statusText}`);
+  }
+  return completeRes.json();
+}
+
+function progressMessage(job: HighlightJob | null): string {
+  if (!job || job.status === "QUEUED") return "대기열에서 순서를 기다리는 중...";
+  if (job.stage === "EXTRACTING") return "하이라이트 구간을 찾는 중...";
+  if (job.stage === "CUTTING" && job.clipsTotal > 0)
+    return `클립 생성 ${job.clipsCut}/${job.clipsTotal} · 요약 ${job.clipsSummarized}/${job.clipsTotal}`;
+  return "잠시만 기다려주세요...";
+}
+
 function parseTimeToSeconds(timeStr: string): number {
   const parts = timeStr.split(":").map(Number);
   if (parts.length === 3) return parts[0] * 3600 + parts[1] * 60 + parts[2];
@@ -40,6 +130,7 @@ export default function HighlightsPage() {
   const [highlights, setHighlights] = useState<HighlightData[]>([]);
   const [isDragOver, setIsDragOver] = useState(false);
   const [playingId, setPlayingId] = useState<number | null>(null);
+  const [progress, setProgress] = useState<HighlightJob | null>(null);
 
   const isResultMode = isAnalyzing || highlights.length > 0;
 
@@ -94,38 +185,21 @@ export default function HighlightsPage() {
       if (!backendUrl)
         throw new Error("환경변수 NEXT_PUBLIC_BACKEND_URL 미설정");
 
-      const formData = new FormData();
-      formData.append("video", uploadFile);
-
-      const savedChannelId = localStorage.getItem("savedChannelId");
-      if (savedChannelId) {
-        formData.append("channelId", savedChannelId);
-      }
-
-      const res = await fetch(`${backendUrl}/API/video/analyze`, {
-        method: "POST",
-        body: formData,
-      });
-
-      if (!res.ok) {
-        const errorMsg = await res.text();
-        throw new Error(`분석 요청 실패: ${errorMsg || res.statusText}`);
-      }
+      const savedChannelId = localStorage.getItem("savedChannelId") ?? "";
+      const completed = await uploadInChunks(backendUrl, uploadFile, savedChannelId);
 
-      const data = await res.json();
+      // 같은 영상을 이미 분석했으면 바로 결과가 온다
+      const result: { highlights?: HighlightData[] } = completed.duplicate
+        ? completed
+        : await waitForHighlightJob(backendUrl, completed.jobId, setProgress);
 
-      if (data.highlights && Array.isArray(data.highlights)) {
-        setHighlights(data.highlights);
-      } else if (Array.isArray(data)) {
-        setHighlights(data);
-      } else {
-        setHighlights([]);
-      }
+      setHighlights(result.highlights ?? []);
     } catch (error) {
       console.error(error);
       alert("영상 분석에 실패했습니다.");
     } finally {
       setIsAnalyzing(false);
+      setProgress(null);
     }
   };
 
@@ -287,7 +361,7 @@ export default function HighlightsPage() {
                     <h3 className="text-xl font-bold text-gray-800 mb-2">
                       AI가 영상을 분석하고 있습니다
                     </h3>
-                    <p className="text-gray-500">잠시만 기다려주세요...</p>
+                    <p className="text-gray-500">{progressMessage(progress)}</p>
                   </div>
                   <div className="w-full max-w-2xl space-y-4 opacity-50 mt-8">
                     {[1, 2].map((i) => (
@@ -5,8 +5,78 @@ export interface SentimentPoint {
   negative: number;
 }
 
+// 그래프에 그릴 최대 포인트 수 (넘으면 서버에서 이 개수로 다운샘플링한 이력을 다시 받음)
+const MAX_TIMELINE_POINTS = 300;
+
 // 기존 timeline을 누적하기 위해 전역 변수 활용
 let accumulatedTimeline: SentimentPoint[] = [];
+let accumulatedChannelId = "";
+// 마지막으로 받은 구간 (ms), 다음 조회는 이 이후만 받음
+let lastTimelineMs = -1;
+
+interface SentimentDto {
+  timeline: string;
+  timelineMs: number;
+  positive: number;
+  neutral: number;
+  negative: number;
+}
+
+function toPoint(dto: SentimentDto): SentimentPoint {
+  return {
+    time: dto.timeline,
+    positive: dto.positive ?? 0,
+    neutral: dto.neutral ?? 0,
+    negative: dto.negative ?? 0,
+  };
+}
+
+function summarize(timeline: SentimentPoint[]) {
+  const total = timeline.length || 1;
+  let positive = 0;
+  let neutral = 0;
+  let negative = 0;
+  for (const p of timeline) {
+    positive += p.positive;
+    neutral += p.neutral;
+    negative += p.negative;
+  }
+  return {
+    positive: Math.round(positive / total),
+    neutral: Math.round(neutral / total),
+    negative: Math.round(negative / total),
+  };
+}
+
+async function fetchTimeline(backendUrl: string, channelId: string, query: string): Promise<SentimentDto[]> {
+  const res = await fetch(`${backendUrl}/youtube/live/timeline?videoId=${channelId}&${query}`);
+  if (!res.ok) throw new Error("타임라인 조회 실패");
+  const data = await res.json();
+  return data.points ?? [];
+}
+
+// 처음이거나 너무 길어졌으면 다운샘플링된 전체 이력, 아니면 마지막 구간 이후만 받음
+async function syncTimeline(backendUrl: string, channelId: string) {
+  if (accumulatedChannelId !== channelId) {
+    accumulatedChannelId = channelId;
+    accumulatedTimeline = [];
+    lastTimelineMs = -1;
+  }
+
+  let dtos: SentimentDto[];
+  if (lastTimelineMs < 0) {
+    dtos = await fetchTimeline(backendUrl, channelId, `points=${MAX_TIMELINE_POINTS}`);
+    accumulatedTimeline = dtos.map(toPoint);
+  } else {
+    dtos = await fetchTimeline(backendUrl, channelId, `since=${lastTimelineMs}&limit=${MAX_TIMELINE_POINTS}`);
+    accumulatedTimeline = [...accumulatedTimeline, ...dtos.map(toPoint)];
+  }
+  if (dtos.length > 0) lastTimelineMs = dtos[dtos.length - 1].timelineMs;
+
+  if (accumulatedTimeline.length > MAX_TIMELINE_POINTS) {
+    accumulatedTimeline = (await fetchTimeline(backendUrl, channelId, `points=${MAX_TIMELINE_POINTS}`)).map(toPoint);
+  }
+}
 
 export async function fetchSentimentData(channelId: string): Promise<{
   summary: { positive: number; neutral: number; negative: number };
@@ -30,15 +100,8 @@ export async function fetchSentimentData(channelId: string): Promise<{
       neutral: Math.floor(Math.random() * 30) + 20,
       negative: Math.floor(Math.random() * 40) + 10,
     };
-    accumulatedTimeline = [...accumulatedTimeline, newPoint];
-    // ... (summary 계산 로직 유지)
-    const total = accumulatedTimeline.length;
-    const summary = {
-      positive: Math.round(accumulatedTimeline.reduce((a, b) => a + b.positive, 0) / total),
-      neutral: Math.round(accumulatedTimeline.reduce((a, b) => a + b.neutral, 0) / total),
-      negative: Math.round(accumulatedTimeline.reduce((a, b) => a + b.negative, 0) / total),
-    };
-    return { summary, timeline: accumulatedTimeline };
+    accumulatedTimeline = [...accumulatedTimeline, newPoint].slice(-MAX_TIMELINE_POINTS);
+    return { summary: summarize(accumulatedTimeline), timeline: accumulatedTimeline };
   }
 
   if (!backendUrl) throw new Error("환경변수 NEXT_PUBLIC_BACKEND_URL이 설정되지 않았습니다.");
@@ -51,24 +114,63 @@ export async function fetchSentimentData(channelId: string): Promise<{
   });
 
   if (!res.ok) throw new Error("백엔드 API 요청 실패");
-  const data = await res.json();
 
-  const newPoint: SentimentPoint = {
-    time: data.timeline ?? data.timestamp ?? new Date().toLocaleTimeString().slice(3, 8),
-    positive: data.positive ?? data.pos ?? 0,
-    neutral: data.neutral ?? data.mid ?? data.normal ?? 0,
-    negative: data.negative ?? data.neg ?? 0,
-  };
+  // 새 구간이 저장됐으니 마지막으로 받은 구간 이후만 가져옴
+  await syncTimeline(backendUrl, channelId);
+
+  return { summary: summarize(accumulatedTimeline), timeline: accumulatedTimeline };
+}
+type SentimentUpdate = {
+  summary: { positive: number; neutral: number; negative: number };
+  timeline: SentimentPoint[];
+};
+
+/**
+ * 감정 분석 결과 구독. 서버가 영상마다 한 번만 분석하고 SSE 로 새 구간을 알려주면
+ * 그 이후 구간만 받아 timeline 을 갱신한다. 반환값을 호출하면 구독 해제.
+ */
+export function subscribeSentiment(
+  channelId: string,
+  onUpdate: (update: SentimentUpdate) => void,
+  onError: (err: unknown) => void = (err) => console.error("감정 데이터 구독 오류:", err)
+): () => void {
+  if (typeof window !== "undefined" && channelId) {
+    localStorage.setItem("savedChannelId", channelId);
+  }
 
-  accumulatedTimeline = [...accumulatedTimeline, newPoint];
+  const backendUrl = process.env.NEXT_PUBLIC_BACKEND_URL;
+  const mockMode = process.env.NEXT_PUBLIC_MOCK_MODE === "true";
+
+  if (mockMode) {
+    const tick = () => fetchSentimentData(channelId).then(onUpdate).catch(onError);
+    tick();
+    const interval = setInterval(tick, 60000);
+    return () => clearInterval(interval);
+  }
 
-  // ... (summary 계산 로직 유지)
-  const total = accumulatedTimeline.length;
-  const summary = {
-    positive: Math.round(accumulatedTimeline.reduce((a, b) => a + b.positive, 0) / total),
-    neutral: Math.round(accumulatedTimeline.reduce((a, b) => a + b.neutral, 0) / total),
-    negative: Math.round(accumulatedTimeline.reduce((a, b) => a + b.negative, 0) / total),
+  if (!backendUrl) {
+    onError(new Error("환경변수 NEXT_PUBLIC_BACKEND_URL이 설정되지 않았습니다."));
+    return () => {};
+  }
+
+  let closed = false;
+  const refresh = async () => {
+    try {
+      await syncTimeline(backendUrl, channelId);
+      if (!closed) onUpdate({ summary: summarize(accumulatedTimeline), timeline: accumulatedTimeline });
+    } catch (err) {
+      if (!closed) onError(err);
+    }
   };
 
-  return { summary, timeline: accumulatedTimeline };
-}
\ No newline at end of file
+  refresh();
+
+  const source = new EventSource(`${backendUrl}/youtube/live/sentiment/stream?videoId=${channelId}`);
+  source.addEventListener("sentiment", () => refresh());
+  source.addEventListener("offline", () => source.close());
+
+  return () => {
+    closed = true;
+    source.close();
+  };
+}
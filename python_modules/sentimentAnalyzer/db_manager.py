@@ -3,7 +3,7 @@ PostgreSQL 데이터베이스 연결 및 채팅 데이터 가져오기 모듈
 """
 
 import os
-from typing import List, Optional
+from typing import Dict, List, Optional
 import psycopg2
 from psycopg2 import sql
 from dotenv import load_dotenv, find_dotenv
@@ -76,7 +76,7 @@ class DatabaseManager:
             table_name: 테이블 이름 (기본값: 'youtube_comments')
             message_column: 메시지 컬럼명 (기본값: 'text')
             limit: 가져올 메시지 수 제한 (None일 경우 전체)
-            where_clause: WHERE 조건절 (예: "published_at > '2025-01-01T10:20:30Z'")
+            where_clause: WHERE 조건절 (예: "published_at_ms >= 60000")
 
         Returns:
             메시지 문자열 리스트
@@ -120,6 +120,54 @@ class DatabaseManager:
         except psycopg2.Error as e:
             raise RuntimeError(f"메시지 조회 중 오류 발생: {e}")
 
+    def fetch_local_counts(
+        self,
+        table_name: str = 'youtube_comments',
+        local_column: str = 'local_sentiment',
+        where_clause: str = None
+    ) -> Dict[str, int]:
+        """
+        수집 단계에서 이미 감정을 판정한 메시지의 감정별 개수
+
+        Args:
+            table_name: 테이블 이름 (기본값: 'youtube_comments')
+            local_column: 판정 결과 컬럼명 (기본값: 'local_sentiment')
+            where_clause: WHERE 조건절
+
+        Returns:
+            {"positive": int, "negative": int, "neutral": int}
+        """
+        if not self.connection:
+            raise ConnectionError("데이터베이스에 연결되지 않았습니다. connect()를 먼저 호출하세요.")
+
+        counts = {"positive": 0, "negative": 0, "neutral": 0}
+        try:
+            cursor = self.connection.cursor()
+
+            query = sql.SQL("SELECT {column}, COUNT(*) FROM {table} WHERE {column} IS NOT NULL").format(
+                column=sql.Identifier(local_column),
+                table=sql.Identifier(table_name)
+            )
+            if where_clause:
+                query = sql.SQL("{query} AND ({where})").format(
+                    query=query,
+                    where=sql.SQL(where_clause)
+                )
+            query = sql.SQL("{query} GROUP BY {column}").format(
+                query=query,
+                column=sql.Identifier(local_column)
+            )
+
+            cursor.execute(query)
+            for sentiment, count in cursor.fetchall():
+                if sentiment in counts:
+                    counts[sentiment] = count
+            cursor.close()
+            return counts
+
+        except psycopg2.Error as e:
+            raise RuntimeError(f"사전 판정 개수 조회 중 오류 발생: {e}")
+
     def __enter__(self):
         """with 문 지원"""
         self.connect()
@@ -6,11 +6,179 @@ PostgreSQL DB에서 데이터를 가져와 Gemini API로 감정 분석 수행
 import json
 import argparse
 import os
+import sys
 from datetime import datetime
 from db_manager import DatabaseManager
 from sentiment_analyzer import SentimentAnalyzer
 
 
+# 수집 단계(백엔드 ChatPreClassifier)에서 판정한 감정. NULL 인 메시지만 모델로 보낸다
+LOCAL_SENTIMENT_COLUMN = 'local_sentiment'
+EMPTY_COUNTS = {"positive": 0, "negative": 0, "neutral": 0}
+
+
+def fetch_window(db, table, column, where, limit):
+    """
+    구간 하나의 (모델로 보낼 메시지, 수집 단계에서 판정한 감정별 개수)
+    """
+    ambiguous = f"{LOCAL_SENTIMENT_COLUMN} IS NULL"
+    messages = db.fetch_messages(
+        table_name=table,
+        message_column=column,
+        limit=limit,
+        where_clause=f"({where}) AND {ambiguous}" if where else ambiguous
+    )
+    local_counts = db.fetch_local_counts(
+        table_name=table,
+        local_column=LOCAL_SENTIMENT_COLUMN,
+        where_clause=where
+    )
+    return messages, local_counts
+
+
+def merge_counts(local_counts, model_counts):
+    """수집 단계 판정 개수와 모델 판정 개수를 합쳐 비율로"""
+    return SentimentAnalyzer.to_percentages(
+        {key: local_counts.get(key, 0) + model_counts.get(key, 0) for key in EMPTY_COUNTS})
+
+
+def build_analysis(messages, local_counts, result, table, column, where, limit):
+    """분석 결과 한 건을 저장/응답용 딕셔너리로 만든다"""
+    local_total = sum(local_counts.values())
+    return {
+        'timestamp': datetime.now().isoformat(),
+        'total_messages': len(messages) + local_total,
+        'local_classified': local_total,
+        'sentiment_summary': result,
+        'query_info': {
+            'table': table,
+            'column': column,
+            'where_clause': where,
+            'limit': limit
+        }
+    }
+
+
+def save_analysis(new_analysis, output_path):
+    """
+    분석 결과를 JSON Lines 이력 파일 끝에 한 줄 추가
+    (기존 이력은 다시 읽지 않는다)
+    """
+    with open(output_path, 'a', encoding='utf-8') as f:
+        f.write(json.dumps(new_analysis, ensure_ascii=False) + '\n')
+
+
+def write_result_file(new_analysis, result_path):
+    """이번 호출의 결과만 담은 파일을 쓴다 (호출한 쪽이 읽고 지운다)"""
+    tmp_path = result_path + '.tmp'
+    with open(tmp_path, 'w', encoding='utf-8') as f:
+        json.dump(new_analysis, f, ensure_ascii=False)
+    os.replace(tmp_path, result_path)
+
+
+def serve(args):
+    """
+    워커 모드: stdin 으로 한 줄짜리 JSON 요청을 받아 stdout 으로 한 줄짜리 JSON 응답을 보낸다.
+    DB 연결과 Gemini 클라이언트는 프로세스가 살아 있는 동안 재사용한다.
+
+    요청: {"id": 1, "op": "analyze", "where": "...", "limit": null}
+          {"id": 2, "op": "analyze_batch", "windows": [{"key": "...", "where": "..."}, ...]}
+          {"id": 3, "op": "ping"}
+    응답: {"id": 1, "ok": true, "result": {...}}
+    """
+    # stdout 은 응답 전용, 나머지 출력은 stderr 로 보낸다
+    protocol_out = sys.stdout
+    sys.stdout = sys.stderr
+
+    analyzer = None
+    db = DatabaseManager()
+    db.connect()
+    db.connection.autocommit = True
+
+    try:
+        for line in sys.stdin:
+            line = line.strip()
+            if not line:
+                continue
+
+            request_id = None
+            try:
+                request = json.loads(line)
+                request_id = request.get('id')
+                op = request.get('op')
+
+                if op == 'ping':
+                    result = 'pong'
+                elif op == 'analyze':
+                    if db.connection is None or db.connection.closed:
+                        db.connect()
+                        db.connection.autocommit = True
+
+                    table = request.get('table', args.table)
+                    column = request.get('column', args.column)
+                    where = request.get('where')
+                    limit = request.get('limit')
+
+                    messages, local_counts = fetch_window(db, table, column, where, limit)
+                    if messages:
+                        if analyzer is None:
+                            analyzer = SentimentAnalyzer(temperature=0.1)
+                        model_counts = analyzer.count_messages(messages)
+                    else:
+                        model_counts = EMPTY_COUNTS
+                    sentiment = merge_counts(local_counts, model_counts)
+
+                    result = build_analysis(messages, local_counts, sentiment, table, column, where, limit)
+                    save_analysis(result, args.output)
+                elif op == 'analyze_batch':
+                    if db.connection is None or db.connection.closed:
+                        db.connect()
+                        db.connection.autocommit = True
+
+                    table = request.get('table', args.table)
+                    column = request.get('column', args.column)
+                    limit = request.get('limit')
+                    windows = request.get('windows') or []
+
+                    groups = {}
+                    local = {}
+                    for window in windows:
+                        groups[window['key']], local[window['key']] = fetch_window(
+                            db, table, column, window['where'], limit)
+
+                    # 모델로 보낼 메시지가 없는 구간(전부 사전 판정)은 요청에서 빠진다
+                    if any(groups.values()):
+                        if analyzer is None:
+                            analyzer = SentimentAnalyzer(temperature=0.1)
+                        model_counts = analyzer.count_batch(groups)
+                    else:
+                        model_counts = {key: EMPTY_COUNTS for key in groups}
+
+                    results = []
+                    for window in windows:
+                        key = window['key']
+                        sentiment = merge_counts(local[key], model_counts[key])
+                        analysis = build_analysis(groups[key], local[key], sentiment,
+                                                  table, column, window['where'], limit)
+                        save_analysis(analysis, args.output)
+                        results.append(dict(analysis, key=key))
+                    result = {'results': results}
+                else:
+                    raise ValueError(f"알 수 없는 op: {op}")
+
+                response = {'id': request_id, 'ok': True, 'result': result}
+
+            except Exception as e:
+                import traceback
+                traceback.print_exc()
+                response = {'id': request_id, 'ok': False, 'error': str(e)}
+
+            protocol_out.write(json.dumps(response, ensure_ascii=False) + '\n')
+            protocol_out.flush()
+    finally:
+        db.disconnect()
+
+
 def main():
     """메인 실행 함수"""
     parser = argparse.ArgumentParser(
@@ -38,17 +206,32 @@ def main():
         '--where',
         type=str,
         default=None,
-        help='WHERE 조건절 (예: "published_at > \'2025-01-01T10:20:30Z\'")'
+        help='WHERE 조건절 (예: "published_at_ms >= 60000")'
     )
     parser.add_argument(
         '--output',
         type=str,
-        default='sentiment_result.json',
-        help='결과를 저장할 JSON 파일 경로 (기본값: sentiment_result.json)'
+        default='sentiment_history.jsonl',
+        help='분석 이력을 추가할 JSON Lines 파일 경로 (기본값: sentiment_history.jsonl)'
+    )
+    parser.add_argument(
+        '--result-file',
+        type=str,
+        default=None,
+        help='이번 분석 결과만 저장할 JSON 파일 경로 (백엔드 연동용)'
+    )
+    parser.add_argument(
+        '--serve',
+        action='store_true',
+        help='워커 모드로 실행 (stdin/stdout 줄 단위 JSON 요청 처리)'
     )
 
     args = parser.parse_args()
 
+    if args.serve:
+        serve(args)
+        return
+
     try:
         print("=" * 60)
         print("스트리밍 채팅 데이터 감정 분석 시작")
@@ -57,55 +240,29 @@ def main():
         # 데이터베이스에서 메시지 가져오기
         print("\n[1/3] 데이터베이스에서 메시지 가져오는 중...")
         with DatabaseManager() as db:
-            messages = db.fetch_messages(
-                table_name=args.table,
-                message_column=args.column,
-                limit=args.limit,
-                where_clause=args.where
-            )
-
-        if not messages:
+            messages, local_counts = fetch_window(db, args.table, args.column, args.where, args.limit)
+
+        if not messages and not any(local_counts.values()):
             print("경고: 가져온 메시지가 없습니다.")
-            result = {"positive": 0.0, "negative": 0.0, "neutral": 0.0}
+            model_counts = EMPTY_COUNTS
+        elif not messages:
+            print(f"모델로 보낼 메시지가 없습니다. (수집 단계 판정 {sum(local_counts.values())}개)")
+            model_counts = EMPTY_COUNTS
         else:
-            print(f"총 {len(messages)}개의 메시지를 가져왔습니다.")
+            print(f"총 {len(messages)}개의 메시지를 가져왔습니다. (수집 단계 판정 {sum(local_counts.values())}개 별도)")
 
             # 감정 분석 수행
             print("\n[2/3] 감정 분석 수행 중...")
             analyzer = SentimentAnalyzer(temperature=0.1)
-            result = analyzer.analyze_messages(messages)
+            model_counts = analyzer.count_messages(messages)
+        result = merge_counts(local_counts, model_counts)
 
         # 결과 저장
         print("\n[3/3] 결과 저장 중...")
-
-        if os.path.exists(args.output):
-            with open(args.output, 'r', encoding='utf-8') as f:
-                try:
-                    data = json.load(f)
-                    if 'analyses' not in data:
-                        data = {'analyses': []}
-                except json.JSONDecodeError:
-                    data = {'analyses': []}
-        else:
-            data = {'analyses': []}
-
-        # 새 분석 결과 추가
-        new_analysis = {
-            'timestamp': datetime.now().isoformat(),
-            'total_messages': len(messages),
-            'sentiment_summary': result,
-            'query_info': {
-                'table': args.table,
-                'column': args.column,
-                'where_clause': args.where,
-                'limit': args.limit
-            }
-        }
-        data['analyses'].append(new_analysis)
-
-        # 파일에 저장
-        with open(args.output, 'w', encoding='utf-8') as f:
-            json.dump(data, f, ensure_ascii=False, indent=2)
+        new_analysis = build_analysis(messages, local_counts, result, args.table, args.column, args.where, args.limit)
+        save_analysis(new_analysis, args.output)
+        if args.result_file:
+            write_result_file(new_analysis, args.result_file)
 
         # 결과 출력
         print("\n" + "=" * 60)
@@ -113,7 +270,6 @@ def main():
         print("=" * 60)
         print(json.dumps(result, ensure_ascii=False, indent=2))
         print("\n결과가 '{}'에 추가되었습니다.".format(args.output))
-        print("총 {}개의 분석 결과가 저장되어 있습니다.".format(len(data['analyses'])))
         print("=" * 60)
 
     except Exception as e:
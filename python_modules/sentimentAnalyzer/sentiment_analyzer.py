@@ -5,12 +5,16 @@ Gemini Flash Lite API를 사용하여 긍정/부정/중립 감정 분석
 
 import os
 import json
+import logging
+from collections import Counter
 from typing import List, Dict
 import google.generativeai as genai
 from dotenv import load_dotenv, find_dotenv
 
 load_dotenv(find_dotenv())
 
+logger = logging.getLogger(__name__)
+
 class SentimentAnalyzer:
     """감정 분석 클래스"""
 
@@ -43,12 +47,19 @@ class SentimentAnalyzer:
         Returns:
             감정 비율 딕셔너리 (예: {"positive": 25.5, "negative": 55.5, "neutral": 20.0})
         """
+        return self.to_percentages(self.count_messages(messages))
+
+    def count_messages(self, messages: List[str]) -> Dict[str, int]:
+        """
+        채팅 메시지들을 일괄 분석하여 감정별 메시지 수를 반환
+        (수집 단계에서 판정한 개수와 합칠 수 있도록 합이 len(messages) 가 되게 맞춘다)
+        """
         if not messages:
-            return {"positive": 0.0, "negative": 0.0, "neutral": 0.0}
+            return {"positive": 0, "negative": 0, "neutral": 0}
 
-        # 메시지들을 번호와 함께 텍스트로 변환
-        print(f"DEBUG: Gemini API 프롬프트에 포함될 메시지 수: {len(messages)}")
-        messages_text = "\n".join([f"{i+1}. {msg}" for i, msg in enumerate(messages)])
+        # 메시지들을 번호와 함께 텍스트로 변환 (같은 내용은 한 줄로 묶는다)
+        messages_text, line_count = self._format_messages(messages)
+        print(f"DEBUG: Gemini API 프롬프트에 포함될 메시지 수: {len(messages)} (줄 수: {line_count})")
 
         prompt = f"""Please classify the following streaming chat messages as positive, negative, or neutral, and count the number of messages for each sentiment.
 
@@ -85,6 +96,7 @@ Reference:
 - If it contains words like "ㅋㅋㅋ", there is a high chance that it is a positive chat.
 
 Rules:
+- A line ending with (xN) stands for N identical messages. Count it N times.
 - Respond only in JSON format.
 - Do not output the thinking stage, only output in json format.
 """
@@ -100,41 +112,151 @@ Rules:
                 response_text = '\n'.join(lines[1:-1])
 
             result = json.loads(response_text)
-
-            # 결과 검증 및 정규화
-            # 모델이 반환한 카운트 가져오기
-            pos_count = result.get('positive', 0)
-            neg_count = result.get('negative', 0)
-            neu_count = result.get('neutral', 0)
-            
-            total_count = pos_count + neg_count + neu_count
-
-            if total_count == 0:
-                return {"positive": 0.0, "negative": 0.0, "neutral": 0.0}
-
-            # 퍼센트 계산
-            pos_pct = (pos_count / total_count) * 100
-            neg_pct = (neg_count / total_count) * 100
-            neu_pct = (neu_count / total_count) * 100
-            
-            # 소수점 첫째 자리까지 반올림
-            final_result = {
-                "positive": round(pos_pct, 1),
-                "negative": round(neg_pct, 1),
-                "neutral": round(neu_pct, 1)
-            }
-
-            # 합이 정확히 100이 되도록 조정 (반올림 오차 보정)
-            current_total = final_result['positive'] + final_result['negative'] + final_result['neutral']
-            if abs(current_total - 100) > 0.01: # 100이 아닌 경우
-                 diff = 100 - current_total
-                 # 가장 큰 비중을 가진 항목에 오차 더하기 (또는 neutral에 더하기)
-                 # 여기서는 간단하게 neutral에 더함
-                 final_result['neutral'] = round(final_result['neutral'] + diff, 1)
-
-            return final_result
+            return self._scale_counts(result, len(messages))
 
         except json.JSONDecodeError as e:
             raise ValueError(f"Gemini API 응답을 JSON으로 파싱할 수 없습니다: {e}")
         except Exception as e:
             raise RuntimeError(f"감정 분석 중 오류 발생: {e}")
+
+    def analyze_batch(self, groups: Dict[str, List[str]]) -> Dict[str, Dict[str, float]]:
+        """
+        여러 방송(구간)의 채팅을 한 번의 Gemini 요청으로 분석
+
+        Args:
+            groups: {그룹 키: 메시지 리스트}
+
+        Returns:
+            {그룹 키: 감정 비율 딕셔너리}
+        """
+        return {key: self.to_percentages(counts) for key, counts in self.count_batch(groups).items()}
+
+    def count_batch(self, groups: Dict[str, List[str]]) -> Dict[str, Dict[str, int]]:
+        """
+        analyze_batch 와 같지만 그룹별 감정별 메시지 수를 반환
+        응답에서 빠진 그룹은 count_messages 로 따로 분석한다.
+        """
+        results = {key: {"positive": 0, "negative": 0, "neutral": 0}
+                   for key, messages in groups.items() if not messages}
+        labels = {f"g{i}": key for i, key in enumerate(k for k, m in groups.items() if m)}
+        if not labels:
+            return results
+        if len(labels) == 1:
+            key = next(iter(labels.values()))
+            results[key] = self.count_messages(groups[key])
+            return results
+
+        logger.debug("Gemini API 배치 요청 그룹 수: %d, 메시지 수: %d",
+                     len(labels), sum(len(groups[key]) for key in labels.values()))
+        sections = []
+        for label, key in labels.items():
+            lines, _ = self._format_messages(groups[key])
+            sections.append(f"[{label}]\n{lines}")
+        messages_text = "\n\n".join(sections)
+
+        prompt = f"""The following streaming chat messages are split into independent groups, each starting with a label like [g0].
+For each group separately, classify its messages as positive, negative, or neutral, and count the number of messages for each sentiment.
+
+Chat message groups:
+{messages_text}
+
+Response format (one entry per group label):
+{{
+"g0": {{"positive": int, "negative": int, "neutral": int}},
+"g1": {{"positive": int, "negative": int, "neutral": int}}
+}}
+
+Reference:
+- If it contains words like "ㅋㅋㅋ", there is a high chance that it is a positive chat.
+
+Rules:
+- Count each group only from its own messages.
+- A line ending with (xN) stands for N identical messages. Count it N times.
+- Respond only in JSON format.
+- Do not output the thinking stage, only output in json format.
+"""
+
+        try:
+            response = self.model.generate_content(prompt)
+
+            response_text = response.text.strip()
+            if response_text.startswith('```'):
+                lines = response_text.split('\n')
+                response_text = '\n'.join(lines[1:-1])
+
+            batch = json.loads(response_text)
+        except json.JSONDecodeError as e:
+            raise ValueError(f"Gemini API 배치 응답을 JSON으로 파싱할 수 없습니다: {e}")
+        except Exception as e:
+            raise RuntimeError(f"배치 감정 분석 중 오류 발생: {e}")
+
+        for label, key in labels.items():
+            counts = batch.get(label)
+            if isinstance(counts, dict):
+                results[key] = self._scale_counts(counts, len(groups[key]))
+            else:
+                results[key] = self.count_messages(groups[key])
+        return results
+
+    @staticmethod
+    def _format_messages(messages: List[str]):
+        """
+        번호 붙은 프롬프트 줄로 변환. 도배처럼 똑같은 메시지는 한 줄 "(xN)" 으로 묶는다.
+
+        Returns:
+            (프롬프트 텍스트, 줄 수)
+        """
+        repeats = Counter(messages)
+        lines = []
+        for msg, count in repeats.items():
+            suffix = f" (x{count})" if count > 1 else ""
+            lines.append(f"{len(lines)+1}. {msg}{suffix}")
+        return "\n".join(lines), len(lines)
+
+    @staticmethod
+    def _scale_counts(result: Dict[str, int], total: int) -> Dict[str, int]:
+        """모델이 센 개수의 합이 실제 메시지 수와 다를 수 있으므로 비율을 유지한 채 total 에 맞춘다"""
+        counts = {key: max(0, int(result.get(key, 0) or 0)) for key in ("positive", "negative", "neutral")}
+        counted = sum(counts.values())
+        if counted == 0 or counted == total:
+            return counts
+        scaled = {key: round(value * total / counted) for key, value in counts.items()}
+        # 반올림 오차는 neutral 에서 보정
+        scaled["neutral"] = max(0, scaled["neutral"] + total - sum(scaled.values()))
+        return scaled
+
+    @staticmethod
+    def to_percentages(result: Dict[str, int]) -> Dict[str, float]:
+        """모델이 돌려준 감정별 개수 → 소수점 한 자리 비율 (합 100)"""
+        # 결과 검증 및 정규화
+        # 모델이 반환한 카운트 가져오기
+        pos_count = result.get('positive', 0)
+        neg_count = result.get('negative', 0)
+        neu_count = result.get('neutral', 0)
+
+        total_count = pos_count + neg_count + neu_count
+
+        if total_count == 0:
+            return {"positive": 0.0, "negative": 0.0, "neutral": 0.0}
+
+        # 퍼센트 계산
+        pos_pct = (pos_count / total_count) * 100
+        neg_pct = (neg_count / total_count) * 100
+        neu_pct = (neu_count / total_count) * 100
+
+        # 소수점 첫째 자리까지 반올림
+        final_result = {
+            "positive": round(pos_pct, 1),
+            "negative": round(neg_pct, 1),
+            "neutral": round(neu_pct, 1)
+        }
+
+        # 합이 정확히 100이 되도록 조정 (반올림 오차 보정)
+        current_total = final_result['positive'] + final_result['negative'] + final_result['neutral']
+        if abs(current_total - 100) > 0.01: # 100이 아닌 경우
+            diff = 100 - current_total
+            # 가장 큰 비중을 가진 항목에 오차 더하기 (또는 neutral에 더하기)
+            # 여기서는 간단하게 neutral에 더함
+            final_result['neutral'] = round(final_result['neutral'] + diff, 1)
+
+        return final_result
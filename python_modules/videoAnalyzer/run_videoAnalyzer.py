@@ -7,6 +7,9 @@ Video Analyzer 실행 스크립트
     
     # S3 비디오 분석
     python run_videoAnalyzer.py --s3 --bucket my-bucket --key path/to/video.mp4
+
+    # 워커 모드 (stdin/stdout 줄 단위 JSON, 백엔드 워커 풀용)
+    python run_videoAnalyzer.py --serve
     
     # 커스텀 모델 사용
     python run_videoAnalyzer.py --file /path/to/video.mp4 --model gemini-1.5-pro
@@ -29,8 +32,8 @@ logging.basicConfig(
 )
 logger = logging.getLogger(__name__)
 
-# 기본 결과 파일 경로 (백엔드 통합용)
-DEFAULT_OUTPUT_PATH = "./video_analysis_result.json"
+# 기본 분석 이력 파일 경로 (JSON Lines, 추가 전용)
+DEFAULT_OUTPUT_PATH = "./video_analysis_history.jsonl"
 
 
 def analyze_local_video(video_path: str, model_name: str = None) -> Dict:
@@ -87,39 +90,36 @@ def analyze_s3_video(bucket_name: str, object_key: str, model_name: str = None)
 
 def save_result(result: Dict, output_path: str, video_source: Dict) -> None:
     """
-    분석 결과를 JSON 파일로 저장 (누적 방식)
+    분석 결과를 JSON Lines 이력 파일 끝에 한 줄 추가 (기존 이력은 다시 읽지 않음)
     
     Args:
         result: 분석 결과 딕셔너리
-        output_path: 저장할 파일 경로
+        output_path: 이력 파일 경로
         video_source: 비디오 소스 정보 (file_path, bucket, key 등)
     """
-    # 기존 파일이 있으면 읽어오기
-    if os.path.exists(output_path):
-        with open(output_path, 'r', encoding='utf-8') as f:
-            try:
-                data = json.load(f)
-                if 'analyses' not in data:
-                    data = {'analyses': []}
-            except json.JSONDecodeError:
-                data = {'analyses': []}
-    else:
-        data = {'analyses': []}
-    
-    # 새 분석 결과 추가
     new_analysis = {
         'timestamp': datetime.now().isoformat(),
         'video_source': video_source,
         'analysis_result': result
     }
-    data['analyses'].append(new_analysis)
-    
-    # 파일에 저장
-    with open(output_path, 'w', encoding='utf-8') as f:
-        json.dump(data, f, ensure_ascii=False, indent=2)
+    with open(output_path, 'a', encoding='utf-8') as f:
+        f.write(json.dumps(new_analysis, ensure_ascii=False) + '\n')
     
     logger.info(f"결과를 저장했습니다: {output_path}")
-    logger.info(f"총 {len(data['analyses'])}개의 분석 결과가 저장되어 있습니다.")
+
+
+def write_result_file(result: Dict, result_path: str) -> None:
+    """
+    이번 호출의 분석 결과만 담은 JSON 파일을 쓴다 (백엔드가 읽고 삭제)
+    
+    Args:
+        result: 분석 결과 딕셔너리
+        result_path: 결과 파일 경로
+    """
+    tmp_path = result_path + '.tmp'
+    with open(tmp_path, 'w', encoding='utf-8') as f:
+        json.dump(result, f, ensure_ascii=False)
+    os.replace(tmp_path, result_path)
 
 
 def print_result(result: Dict):
@@ -151,6 +151,68 @@ def print_result(result: Dict):
     print()
 
 
+def serve(args) -> int:
+    """
+    워커 모드: stdin 으로 한 줄짜리 JSON 요청을 받아 stdout 으로 한 줄짜리 JSON 응답을 보낸다.
+    Gemini 클라이언트는 프로세스가 살아 있는 동안 재사용한다.
+
+    요청: {"id": 1, "op": "analyze", "file": "/path/to/clip.mp4"}
+          {"id": 2, "op": "analyze", "bucket": "my-bucket", "key": "videos/sample.mp4"}
+          {"id": 3, "op": "ping"}
+    응답: {"id": 1, "ok": true, "result": {"summary": ..., "tags": [...], "category": ...}}
+    """
+    # stdout 은 응답 전용, 나머지 출력은 stderr 로 보낸다
+    protocol_out = sys.stdout
+    sys.stdout = sys.stderr
+
+    analyzer = None
+
+    for line in sys.stdin:
+        line = line.strip()
+        if not line:
+            continue
+
+        request_id = None
+        try:
+            request = json.loads(line)
+            request_id = request.get('id')
+            op = request.get('op')
+
+            if op == 'ping':
+                result = 'pong'
+            elif op == 'analyze':
+                model_name = request.get('model', args.model)
+                if analyzer is None or (model_name and analyzer.model_name != model_name):
+                    analyzer = VideoAnalyzer(model_name=model_name)
+
+                if request.get('file'):
+                    result = analyzer.analyze_video_from_local(request['file'])
+                    video_source = {'type': 'local', 'file_path': request['file']}
+                else:
+                    bucket, key = request['bucket'], request['key']
+                    result = analyzer.analyze_video_from_s3(bucket, key)
+                    video_source = {
+                        'type': 's3',
+                        'bucket': bucket,
+                        'key': key,
+                        's3_uri': f's3://{bucket}/{key}'
+                    }
+                save_result(result, args.output, video_source)
+            else:
+                raise ValueError(f"알 수 없는 op: {op}")
+
+            response = {'id': request_id, 'ok': True, 'result': result}
+
+        except Exception as e:
+            logger.error(f"요청 처리 중 오류 발생: {e}")
+            response = {'id': request_id, 'ok': False, 'error': str(e)}
+
+        protocol_out.write(json.dumps(response, ensure_ascii=False) + '\n')
+        protocol_out.flush()
+
+    return 0
+
+
 def main():
     """메인 함수"""
     parser = argparse.ArgumentParser(
@@ -181,6 +243,11 @@ def main():
         action='store_true',
         help='S3에서 비디오를 가져옵니다'
     )
+    source_group.add_argument(
+        '--serve',
+        action='store_true',
+        help='워커 모드로 실행 (stdin/stdout 줄 단위 JSON 요청 처리)'
+    )
     
     # S3 관련 인자
     parser.add_argument(
@@ -204,7 +271,13 @@ def main():
         '--output',
         type=str,
         default=DEFAULT_OUTPUT_PATH,
-        help=f'결과를 저장할 JSON 파일 경로 (기본값: {DEFAULT_OUTPUT_PATH})'
+        help=f'분석 이력을 추가할 JSON Lines 파일 경로 (기본값: {DEFAULT_OUTPUT_PATH})'
+    )
+    parser.add_argument(
+        '--result-file',
+        type=str,
+        default=None,
+        help='이번 분석 결과만 저장할 JSON 파일 경로 (백엔드 연동용)'
     )
     parser.add_argument(
         '--verbose',
@@ -228,6 +301,9 @@ def main():
     # S3 옵션 검증
     if args.s3 and (not args.bucket or not args.key):
         parser.error("--s3를 사용할 때는 --bucket과 --key가 필요합니다.")
+
+    if args.serve:
+        return serve(args)
     
     try:
         # 비디오 분석 실행
@@ -246,8 +322,10 @@ def main():
                 's3_uri': f's3://{args.bucket}/{args.key}'
             }
         
-        # 결과를 JSON 파일로 저장 (항상 실행, 누적 방식)
+        # 분석 이력에 추가 (항상 실행)
         save_result(result, args.output, video_source)
+        if args.result_file:
+            write_result_file(result, args.result_file)
         
         # 콘솔 출력 (--quiet 옵션이 없을 때만)
         if not args.quiet: